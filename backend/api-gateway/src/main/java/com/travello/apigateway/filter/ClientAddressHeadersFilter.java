@@ -0,0 +1,54 @@
+package com.travello.apigateway.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces the forwarding headers of requests that do not come from a trusted proxy
+ * ({@code spring.cloud.gateway.server.webflux.trusted-proxies}) with the caller's own address.
+ * The gateway leaves those headers untouched for untrusted callers, so without this a client
+ * could pick the address auth-service throttles its logins by.
+ */
+@Component
+public class ClientAddressHeadersFilter implements HttpHeadersFilter, Ordered {
+
+    private static final List<String> FORWARDED_HEADERS = List.of("Forwarded", "X-Forwarded-For",
+            "X-Forwarded-Host", "X-Forwarded-Port", "X-Forwarded-Proto", "X-Forwarded-Prefix");
+
+    private final Pattern trustedProxies;
+
+    public ClientAddressHeadersFilter(
+            @Value("${spring.cloud.gateway.server.webflux.trusted-proxies:}") String trustedProxies) {
+        this.trustedProxies = trustedProxies.isBlank() ? null : Pattern.compile(trustedProxies);
+    }
+
+    @Override
+    public HttpHeaders filter(HttpHeaders input, ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        String clientAddress = remoteAddress != null ? remoteAddress.getHostString() : null;
+        if (clientAddress != null && trustedProxies != null && trustedProxies.matcher(clientAddress).matches()) {
+            return input;
+        }
+        HttpHeaders filtered = new HttpHeaders();
+        filtered.putAll(input);
+        FORWARDED_HEADERS.forEach(filtered::remove);
+        if (clientAddress != null) {
+            filtered.set("X-Forwarded-For", clientAddress);
+        }
+        return filtered;
+    }
+
+    // Ahead of XForwardedHeadersFilter, which appends to X-Forwarded-For for trusted proxies only.
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+}
@@ -0,0 +1,114 @@
+package com.travello.apigateway.revocation;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of auth-service's token denylist, kept current by polling its revocation feed
+ * ({@code GET /auth/revocations}). Tokens revoked since the last poll are still accepted, so
+ * a revocation takes up to {@code auth.revocations.poll.ms} to reach the gateway. The feed is
+ * only served to callers presenting the shared {@code auth.service.token}.
+ */
+@Component
+public class RevokedTokens {
+
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedTokens.class);
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final WebClient webClient;
+    private final Duration pollInterval;
+    private volatile String epoch;
+    private volatile long sequence;
+    private Disposable polling;
+
+    @Autowired
+    public RevokedTokens(@Value("${auth.service.uri}") String authServiceUri,
+                         @Value("${auth.service.token}") String serviceToken,
+                         @Value("${auth.revocations.poll.ms}") long pollIntervalMs) {
+        this(WebClient.builder()
+                .baseUrl(authServiceUri)
+                .defaultHeader(SERVICE_TOKEN_HEADER, serviceToken)
+                .build(), pollIntervalMs);
+    }
+
+    RevokedTokens(WebClient webClient, long pollIntervalMs) {
+        this.webClient = webClient;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPolling() {
+        polling = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopPolling() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    Mono<Void> poll() {
+        return webClient.get()
+                .uri(uri -> uri.path("/auth/revocations")
+                        .queryParamIfPresent("epoch", Optional.ofNullable(epoch))
+                        .queryParam("since", sequence)
+                        .build())
+                .retrieve()
+                .bodyToMono(RevocationFeed.class)
+                .doOnNext(this::apply)
+                .then()
+                .onErrorResume(e -> {
+                    logger.warn("Could not fetch token revocations: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void apply(RevocationFeed feed) {
+        // A new epoch means auth-service restarted with an empty denylist; so do we.
+        if (epoch != null && !epoch.equals(feed.epoch())) {
+            revoked.clear();
+        }
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        for (RevokedToken token : feed.revoked()) {
+            if (token.expiresAt().isAfter(now)) {
+                revoked.put(token.tokenId(), token.expiresAt());
+            }
+        }
+        epoch = feed.epoch();
+        sequence = feed.sequence();
+    }
+
+    record RevocationFeed(String epoch, long sequence, List<RevokedToken> revoked) {
+    }
+
+    record RevokedToken(String tokenId, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.travello.apigateway.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientAddressHeadersFilterTest {
+
+    private final ClientAddressHeadersFilter filter = new ClientAddressHeadersFilter("172\\.28\\.0\\.11");
+
+    @Test
+    @DisplayName("replaces the forwarding headers of an untrusted caller with its own address")
+    void shouldReplaceForwardedFor_whenCallerIsNotTrusted() {
+        MockServerWebExchange exchange = exchangeFrom("203.0.113.7");
+
+        HttpHeaders headers = filter.filter(exchange.getRequest().getHeaders(), exchange);
+
+        assertThat(headers.get("X-Forwarded-For")).containsExactly("203.0.113.7");
+        assertThat(headers.containsHeader("Forwarded")).isFalse();
+        assertThat(headers.containsHeader("X-Forwarded-Host")).isFalse();
+        assertThat(headers.getFirst("X-Request-Id")).isEqualTo("abc");
+    }
+
+    @Test
+    @DisplayName("keeps the forwarding headers of a trusted proxy")
+    void shouldKeepForwardedFor_whenCallerIsTrusted() {
+        MockServerWebExchange exchange = exchangeFrom("172.28.0.11");
+
+        HttpHeaders headers = filter.filter(exchange.getRequest().getHeaders(), exchange);
+
+        assertThat(headers.get("X-Forwarded-For")).containsExactly("10.0.0.1");
+        assertThat(headers.getFirst("X-Forwarded-Host")).isEqualTo("forged.example");
+    }
+
+    @Test
+    @DisplayName("trusts no caller when no trusted proxies are configured")
+    void shouldReplaceForwardedFor_whenNoProxiesAreTrusted() {
+        MockServerWebExchange exchange = exchangeFrom("172.28.0.11");
+
+        HttpHeaders headers = new ClientAddressHeadersFilter("").filter(exchange.getRequest().getHeaders(), exchange);
+
+        assertThat(headers.get("X-Forwarded-For")).containsExactly("172.28.0.11");
+    }
+
+    private static MockServerWebExchange exchangeFrom(String remoteAddress) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/login")
+                .remoteAddress(new InetSocketAddress(remoteAddress, 40000))
+                .header("X-Forwarded-For", "10.0.0.1")
+                .header("X-Forwarded-Host", "forged.example")
+                .header("Forwarded", "for=10.0.0.1")
+                .header("X-Request-Id", "abc"));
+    }
+}
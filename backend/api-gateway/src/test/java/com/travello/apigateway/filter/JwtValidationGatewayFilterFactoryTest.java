@@ -0,0 +1,156 @@
+package com.travello.apigateway.filter;
+
+import com.travello.apigateway.revocation.RevokedTokens;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.travello.apigateway.filter.JwtValidationGatewayFilterFactory.USER_ROLES_HEADER;
+import static com.travello.apigateway.filter.JwtValidationGatewayFilterFactory.USER_SUBJECT_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtValidationGatewayFilterFactoryTest {
+
+    private static final byte[] SECRET = new byte[32];
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET);
+
+    private final RevokedTokens revokedTokens = mock(RevokedTokens.class);
+    private final GatewayFilter filter = new JwtValidationGatewayFilterFactory(
+            Base64.getEncoder().encodeToString(SECRET), revokedTokens).apply(new Object());
+    // The request the filter passed on, or null if it answered itself.
+    private final AtomicReference<ServerHttpRequest> forwarded = new AtomicReference<>();
+
+    @Test
+    @DisplayName("forwards a valid token with the subject and roles from its claims")
+    void shouldForwardIdentity_whenTokenIsValid() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/location/places")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(KEY, "token-1", 60_000)));
+
+        filter(exchange);
+
+        assertThat(forwarded.get()).isNotNull();
+        assertThat(forwarded.get().getHeaders().getFirst(USER_SUBJECT_HEADER)).isEqualTo("john_doe");
+        assertThat(forwarded.get().getHeaders().getFirst(USER_ROLES_HEADER)).isEqualTo("ROLE_USER,ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("replaces identity headers the client sent with the ones from the token")
+    void shouldReplaceForgedIdentityHeaders() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/location/places")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(KEY, "token-1", 60_000))
+                .header(USER_SUBJECT_HEADER, "admin")
+                .header(USER_ROLES_HEADER, "ROLE_ADMIN"));
+
+        filter(exchange);
+
+        assertThat(forwarded.get().getHeaders().get(USER_SUBJECT_HEADER)).containsExactly("john_doe");
+        assertThat(forwarded.get().getHeaders().get(USER_ROLES_HEADER)).containsExactly("ROLE_USER,ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("answers 401 without forwarding when the Authorization header is missing")
+    void shouldRejectMissingToken() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/location/places")
+                .header(USER_SUBJECT_HEADER, "admin"));
+
+        filter(exchange);
+
+        assertUnauthorized(exchange);
+    }
+
+    @Test
+    @DisplayName("answers 401 for a token without the Bearer prefix")
+    void shouldRejectTokenWithoutBearerPrefix() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/location/places")
+                .header(HttpHeaders.AUTHORIZATION, token(KEY, "token-1", 60_000)));
+
+        filter(exchange);
+
+        assertUnauthorized(exchange);
+    }
+
+    @Test
+    @DisplayName("answers 401 for a token signed with another key")
+    void shouldRejectForgedSignature() {
+        byte[] otherSecret = new byte[32];
+        otherSecret[0] = 1;
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/location/places")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Keys.hmacShaKeyFor(otherSecret), "token-1", 60_000))
+                .header(USER_SUBJECT_HEADER, "admin"));
+
+        filter(exchange);
+
+        assertUnauthorized(exchange);
+    }
+
+    @Test
+    @DisplayName("answers 401 for an expired or malformed token")
+    void shouldRejectExpiredAndMalformedTokens() {
+        MockServerWebExchange expired = exchange(MockServerHttpRequest.get("/location/places")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(KEY, "token-1", -60_000)));
+        MockServerWebExchange malformed = exchange(MockServerHttpRequest.get("/location/places")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt"));
+
+        filter(expired);
+        filter(malformed);
+
+        assertUnauthorized(expired);
+        assertUnauthorized(malformed);
+    }
+
+    @Test
+    @DisplayName("answers 401 for a validly signed token whose id is revoked")
+    void shouldRejectRevokedToken() {
+        when(revokedTokens.isRevoked("token-1")).thenReturn(true);
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/location/places")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(KEY, "token-1", 60_000)));
+
+        filter(exchange);
+
+        assertUnauthorized(exchange);
+    }
+
+    private void filter(MockServerWebExchange exchange) {
+        filter.filter(exchange, forwardedExchange -> {
+            forwarded.set(forwardedExchange.getRequest());
+            return Mono.empty();
+        }).block();
+    }
+
+    private void assertUnauthorized(MockServerWebExchange exchange) {
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(forwarded.get()).isNull();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private static String token(SecretKey key, String tokenId, long validForMs) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .id(tokenId)
+                .subject("john_doe")
+                .claim("roles", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .issuedAt(new Date(now - 120_000))
+                .expiration(new Date(now + validForMs))
+                .signWith(key)
+                .compact();
+    }
+}
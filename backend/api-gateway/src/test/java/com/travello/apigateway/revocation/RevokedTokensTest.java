@@ -0,0 +1,108 @@
+package com.travello.apigateway.revocation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevokedTokensTest {
+
+    private static final String LATER = "2999-01-01T00:00:00Z";
+    private static final String EARLIER = "2000-01-01T00:00:00Z";
+
+    private final Deque<ClientResponse> responses = new ArrayDeque<>();
+    private final List<URI> requests = new ArrayList<>();
+    private final RevokedTokens revokedTokens = new RevokedTokens(WebClient.builder()
+            .baseUrl("http://auth-service:8081")
+            .exchangeFunction(request -> {
+                requests.add(request.url());
+                return Mono.just(responses.removeFirst());
+            })
+            .build(), 5000);
+
+    @Test
+    @DisplayName("adds the polled revocations and asks for the next ones with the epoch and sequence it has seen")
+    void shouldContinueFromLastSequence() {
+        respond(feed("epoch-1", 2, revoked("token-1", LATER), revoked("token-2", LATER)));
+        respond(feed("epoch-1", 3, revoked("token-3", LATER)));
+
+        revokedTokens.poll().block();
+        revokedTokens.poll().block();
+
+        assertThat(revokedTokens.isRevoked("token-1")).isTrue();
+        assertThat(revokedTokens.isRevoked("token-3")).isTrue();
+        assertThat(revokedTokens.isRevoked("token-4")).isFalse();
+        assertThat(requests.get(0).getQuery()).isEqualTo("since=0");
+        assertThat(requests.get(1).getQuery()).isEqualTo("epoch=epoch-1&since=2");
+    }
+
+    @Test
+    @DisplayName("drops what it knew when auth-service answers with a new epoch after a restart")
+    void shouldStartOver_whenEpochChanges() {
+        respond(feed("epoch-1", 2, revoked("token-1", LATER), revoked("token-2", LATER)));
+        respond(feed("epoch-2", 1, revoked("token-3", LATER)));
+        respond(feed("epoch-2", 1));
+
+        revokedTokens.poll().block();
+        revokedTokens.poll().block();
+        revokedTokens.poll().block();
+
+        assertThat(revokedTokens.isRevoked("token-1")).isFalse();
+        assertThat(revokedTokens.isRevoked("token-2")).isFalse();
+        assertThat(revokedTokens.isRevoked("token-3")).isTrue();
+        assertThat(requests.get(2).getQuery()).isEqualTo("epoch=epoch-2&since=1");
+    }
+
+    @Test
+    @DisplayName("skips revocations of tokens that have expired anyway")
+    void shouldSkipExpiredTokens() {
+        respond(feed("epoch-1", 2, revoked("expired", EARLIER), revoked("current", LATER)));
+
+        revokedTokens.poll().block();
+
+        assertThat(revokedTokens.isRevoked("expired")).isFalse();
+        assertThat(revokedTokens.isRevoked("current")).isTrue();
+    }
+
+    @Test
+    @DisplayName("keeps its state and sequence when a poll fails")
+    void shouldKeepState_whenPollFails() {
+        respond(feed("epoch-1", 1, revoked("token-1", LATER)));
+        responses.add(ClientResponse.create(HttpStatus.UNAUTHORIZED).build());
+        respond(feed("epoch-1", 1));
+
+        revokedTokens.poll().block();
+        revokedTokens.poll().block();
+        revokedTokens.poll().block();
+
+        assertThat(revokedTokens.isRevoked("token-1")).isTrue();
+        assertThat(requests.get(2).getQuery()).isEqualTo("epoch=epoch-1&since=1");
+    }
+
+    private void respond(String body) {
+        responses.add(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private static String feed(String epoch, long sequence, String... revoked) {
+        return "{\"epoch\":\"%s\",\"sequence\":%d,\"revoked\":[%s]}".formatted(epoch, sequence, String.join(",", revoked));
+    }
+
+    private static String revoked(String tokenId, String expiresAt) {
+        return "{\"tokenId\":\"%s\",\"expiresAt\":\"%s\"}".formatted(tokenId, expiresAt);
+    }
+}
@@ -0,0 +1,41 @@
+package com.travello.authservice.configuration;
+
+import com.travello.authservice.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    // BCrypt is pure CPU, more threads than cores only adds contention. Queue depth is exposed
+    // as executor.queued{name=password.hashing}.
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService passwordHashingExecutor(@Value("${auth.password.hashing.threads}") int threads,
+                                                   @Value("${auth.password.hashing.queue.size}") int queueSize,
+                                                   MeterRegistry meterRegistry) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Qualifier("passwordHashingExecutor") ExecutorService executor,
+                                           @Value("${auth.password.bcrypt.strength}") int strength,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), executor, meterRegistry);
+    }
+}
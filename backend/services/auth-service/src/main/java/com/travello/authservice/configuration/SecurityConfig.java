@@ -1,11 +1,14 @@
 package com.travello.authservice.configuration;
 
 
+import com.travello.authservice.security.ServiceTokenFilter;
 import com.travello.authservice.security.jwt.AuthEntryPointJwt;
 import com.travello.authservice.security.jwt.AuthTokenFilter;
-import com.travello.authservice.security.jwt.JwtUtil;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -13,8 +16,8 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -24,22 +27,42 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final AuthEntryPointJwt unauthorizedHandler;
-    private final JwtUtil jwtUtil;
-    public SecurityConfig(UserDetailsService userDetailsService, AuthEntryPointJwt unauthorizedHandler, JwtUtil jwtUtil) {
+    private final AuthTokenFilter authTokenFilter;
+    private final ServiceTokenFilter serviceTokenFilter;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    public SecurityConfig(UserDetailsService userDetailsService, AuthEntryPointJwt unauthorizedHandler, AuthTokenFilter authTokenFilter,
+                          ServiceTokenFilter serviceTokenFilter, PasswordEncoder passwordEncoder, UserDetailsPasswordService userDetailsPasswordService) {
         this.userDetailsService = userDetailsService;
         this.unauthorizedHandler = unauthorizedHandler;
-        this.jwtUtil = jwtUtil;
+        this.authTokenFilter = authTokenFilter;
+        this.serviceTokenFilter = serviceTokenFilter;
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailsPasswordService = userDetailsPasswordService;
     }
 
-    public AuthTokenFilter authenticationJwtTokenFilter() {return new AuthTokenFilter(userDetailsService, jwtUtil);}
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider =new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
+    // The filter is a bean only to be injected here; it must run inside the security chain, not
+    // also as a plain servlet filter ahead of it.
     @Bean
-    public PasswordEncoder passwordEncoder() {return new BCryptPasswordEncoder();}
+    public FilterRegistrationBean<AuthTokenFilter> authTokenFilterRegistration(AuthTokenFilter filter) {
+        FilterRegistrationBean<AuthTokenFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServiceTokenFilter> serviceTokenFilterRegistration(ServiceTokenFilter filter) {
+        FilterRegistrationBean<ServiceTokenFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
@@ -52,12 +75,18 @@ public class SecurityConfig {
                 .exceptionHandling(exception-> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session-> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth->auth
+                        // Streamed responses end with an async dispatch; the request was authorized already.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/traveler/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers("/auth/admin/**").hasRole("ADMIN")
+                        // Only the gateway polls the revocation feed.
+                        .requestMatchers(HttpMethod.GET, "/auth/revocations").hasRole("SERVICE")
                         .anyRequest().permitAll());
 
         http.authenticationProvider(authenticationProvider());
-        http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(serviceTokenFilter, UsernamePasswordAuthenticationFilter.class);
 
 
 
@@ -0,0 +1,68 @@
+package com.travello.authservice.controller;
+
+import com.travello.authservice.dto.RevokeTokenDTO;
+import com.travello.authservice.dto.TravelerImportResultDTO;
+import com.travello.authservice.service.TokenRevocationService;
+import com.travello.authservice.service.TravelerImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Tag(name="Admin", description = "Administration endpoints, ADMIN role only")
+@RestController
+@RequestMapping("/auth/admin")
+public class AdminController {
+    private final TokenRevocationService tokenRevocationService;
+    private final TravelerImportService travelerImportService;
+    public AdminController(TokenRevocationService tokenRevocationService, TravelerImportService travelerImportService) {
+        this.tokenRevocationService = tokenRevocationService;
+        this.travelerImportService = travelerImportService;
+    }
+
+    @Operation(summary = "Revoke a token by its id (jti)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Token revoked"),
+            @ApiResponse(responseCode = "400", description = "Missing token id"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Not an admin")
+    })
+    @PostMapping("/revocations")
+    public ResponseEntity<Void> revokeToken(@Valid @RequestBody RevokeTokenDTO request){
+        tokenRevocationService.revoke(request.getTokenId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Import travelers from NDJSON, one registration per line",
+            description = "Streams back one result per line as NDJSON: CREATED, DUPLICATE, INVALID or FAILED. "
+                    + "Only FAILED lines are worth sending again.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Results, streamed as lines are processed",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = TravelerImportResultDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Not an admin")
+    })
+    @PostMapping(value = "/travelers/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importTravelers(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> travelerImportService.importTravelers(body, output));
+    }
+}
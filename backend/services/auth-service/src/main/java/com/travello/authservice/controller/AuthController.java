@@ -3,6 +3,9 @@ package com.travello.authservice.controller;
 import com.travello.authservice.dto.JwtDTO;
 import com.travello.authservice.dto.LoginTravelerDTO;
 import com.travello.authservice.dto.NewTravelerDTO;
+import com.travello.authservice.dto.RevocationFeedDTO;
+import com.travello.authservice.security.jwt.JwtPrincipal;
+import com.travello.authservice.service.TokenRevocationService;
 import com.travello.authservice.service.TravelerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,9 +13,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @Tag(name="Auth", description = "Authentication endpoints")
@@ -20,8 +25,10 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/auth")
 public class AuthController {
     private final TravelerService travelerService;
-    public AuthController(TravelerService travelerService) {
+    private final TokenRevocationService tokenRevocationService;
+    public AuthController(TravelerService travelerService, TokenRevocationService tokenRevocationService) {
         this.travelerService = travelerService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Operation(summary = "Register a new user")
@@ -41,11 +48,12 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Login succesful",
                 content = @Content(schema = @Schema(implementation = JwtDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
-            @ApiResponse(responseCode = "401", description = "Bad credentials", content = @Content)
+            @ApiResponse(responseCode = "401", description = "Bad credentials", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Too many attempts from this address or for this account", content = @Content)
     })
     @PostMapping("/login")
-    public JwtDTO login(@Valid @RequestBody LoginTravelerDTO loginRequest){
-       return travelerService.loginUser(loginRequest);
+    public JwtDTO login(@Valid @RequestBody LoginTravelerDTO loginRequest, HttpServletRequest request){
+       return travelerService.loginUser(loginRequest, request.getRemoteAddr());
     }
 
     @Operation(summary = "Validate a JWT token")
@@ -65,4 +73,30 @@ public class AuthController {
                 : ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
+    @Operation(summary = "Revoke the token sent with the request")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Token revoked"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid token")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal JwtPrincipal principal){
+        if(principal == null){
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        tokenRevocationService.logout(principal);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Token revocations after a sequence number, polled by the gateway with its X-Service-Token")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Revocations in order",
+                    content = @Content(schema = @Schema(implementation = RevocationFeedDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid service token")
+    })
+    @GetMapping("/revocations")
+    public RevocationFeedDTO getRevocations(@RequestParam(required = false) String epoch,
+                                            @RequestParam(defaultValue = "0") long since){
+        return tokenRevocationService.getFeed(epoch, since);
+    }
+
 }
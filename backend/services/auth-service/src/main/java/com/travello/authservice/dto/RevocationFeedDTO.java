@@ -0,0 +1,10 @@
+package com.travello.authservice.dto;
+
+import java.util.List;
+
+/**
+ * Revocations after the requested sequence. Pass {@code epoch} and {@code sequence} back on
+ * the next poll; a changed epoch means auth-service restarted and the feed starts over.
+ */
+public record RevocationFeedDTO(String epoch, long sequence, List<RevokedTokenDTO> revoked) {
+}
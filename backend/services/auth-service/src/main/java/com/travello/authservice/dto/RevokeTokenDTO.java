@@ -0,0 +1,10 @@
+package com.travello.authservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RevokeTokenDTO {
+    @NotBlank(message = "Token id is required")
+    private String tokenId;
+}
@@ -0,0 +1,6 @@
+package com.travello.authservice.dto;
+
+import java.time.Instant;
+
+public record RevokedTokenDTO(String tokenId, Instant expiresAt) {
+}
@@ -0,0 +1,17 @@
+package com.travello.authservice.dto;
+
+/**
+ * Outcome of one line of a traveler import, written back as one NDJSON line.
+ *
+ * @param line    1-based line number in the uploaded file
+ * @param message why the row was not created, {@code null} when it was
+ */
+public record TravelerImportResultDTO(long line, String email, Status status, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+}
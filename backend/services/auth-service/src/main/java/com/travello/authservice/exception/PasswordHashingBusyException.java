@@ -0,0 +1,7 @@
+package com.travello.authservice.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("Too many logins in progress, try again shortly");
+    }
+}
@@ -17,22 +17,26 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Traveler implements UserDetails {
+    @Getter
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
     @Column(nullable = false, unique = true)
     private String username;
+    @Setter
     @Column(nullable = false)
     private String password;
     @Getter
     @Column(nullable = false, unique = true)
     private String email;
+    @Getter
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "role")
     @Builder.Default
     private Set<Role> roles = Set.of(Role.USER);
+    @Getter
     @Builder.Default
     private LocalDate registrationDate = LocalDate.now();
     @Override
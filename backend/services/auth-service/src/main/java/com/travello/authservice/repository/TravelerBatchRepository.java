@@ -0,0 +1,69 @@
+package com.travello.authservice.repository;
+
+import com.travello.authservice.model.Role;
+import com.travello.authservice.model.Traveler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based reads and JDBC batch writes of travelers for bulk imports, where saving entities
+ * one by one would cost a round trip per user and per role. Ids are assigned by the caller.
+ */
+@Repository
+public class TravelerBatchRepository {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, username, password, email, registration_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ROLE = "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TravelerBatchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public TakenKeys findTaken(Collection<String> emails, Collection<String> usernames) {
+        TakenKeys taken = new TakenKeys(new HashSet<>(), new HashSet<>());
+        // An empty IN list is invalid SQL; both lists come from the same rows, so they are empty together.
+        if (emails.isEmpty() || usernames.isEmpty()) {
+            return taken;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("emails", emails)
+                .addValue("usernames", usernames);
+        jdbcTemplate.query("SELECT email, username FROM users WHERE email IN (:emails) OR username IN (:usernames)",
+                parameters,
+                rs -> {
+                    taken.emails().add(rs.getString("email"));
+                    taken.usernames().add(rs.getString("username"));
+                });
+        return taken;
+    }
+
+    @Transactional
+    public void insertAll(List<Traveler> travelers) {
+        List<Object[]> users = new ArrayList<>(travelers.size());
+        List<Object[]> roles = new ArrayList<>(travelers.size());
+        for (Traveler traveler : travelers) {
+            users.add(new Object[]{traveler.getId(), traveler.getUsername(), traveler.getPassword(),
+                    traveler.getEmail(), Date.valueOf(traveler.getRegistrationDate())});
+            for (Role role : traveler.getRoles()) {
+                roles.add(new Object[]{traveler.getId(), role.name()});
+            }
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_USER, users);
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_ROLE, roles);
+    }
+
+    public record TakenKeys(Set<String> emails, Set<String> usernames) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.travello.authservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travello.authservice.exception.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Turns away logins before any password is hashed when a client IP has made too many attempts,
+ * or an account has had too many failed ones, within the window. Counters of keys that stay
+ * idle for a whole window are dropped, and the number of tracked keys is capped.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int BUCKETS = 6;
+
+    private final long windowMillis;
+    private final int maxAttemptsPerIp;
+    private final int maxFailuresPerEmail;
+    private final Cache<String, SlidingWindowCounter> attemptsByIp;
+    private final Cache<String, SlidingWindowCounter> failuresByEmail;
+
+    public LoginThrottle(@Value("${auth.login.throttle.window.ms}") long windowMillis,
+                         @Value("${auth.login.throttle.ip.max.attempts}") int maxAttemptsPerIp,
+                         @Value("${auth.login.throttle.email.max.failures}") int maxFailuresPerEmail,
+                         @Value("${auth.login.throttle.max.keys}") long maxKeys) {
+        this.windowMillis = windowMillis;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.attemptsByIp = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(windowMillis))
+                .maximumSize(maxKeys)
+                .build();
+        this.failuresByEmail = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(windowMillis))
+                .maximumSize(maxKeys)
+                .build();
+    }
+
+    /**
+     * Counts a login attempt from {@code clientIp} and throws {@link LoginThrottledException} if
+     * that IP or {@code email} is over its limit. Rejected attempts count too, so a client that
+     * keeps hammering stays locked out.
+     */
+    public void acquire(String clientIp, String email) {
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter ipAttempts = attemptsByIp.get(ipKey(clientIp), key -> newCounter());
+        if (ipAttempts.incrementAndGet(now) > maxAttemptsPerIp) {
+            throw new LoginThrottledException(Duration.ofMillis(ipAttempts.bucketMillis()));
+        }
+        SlidingWindowCounter emailFailures = failuresByEmail.getIfPresent(emailKey(email));
+        if (emailFailures != null && emailFailures.get(now) >= maxFailuresPerEmail) {
+            throw new LoginThrottledException(Duration.ofMillis(emailFailures.bucketMillis()));
+        }
+    }
+
+    public void recordFailure(String email) {
+        failuresByEmail.get(emailKey(email), key -> newCounter()).incrementAndGet(System.currentTimeMillis());
+    }
+
+    public void recordSuccess(String email) {
+        failuresByEmail.invalidate(emailKey(email));
+    }
+
+    private SlidingWindowCounter newCounter() {
+        return new SlidingWindowCounter(windowMillis, BUCKETS);
+    }
+
+    private static String ipKey(String clientIp) {
+        return clientIp != null ? clientIp : "unknown";
+    }
+
+    private static String emailKey(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -0,0 +1,64 @@
+package com.travello.authservice.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts events over the last {@code window}, split into a ring of buckets. Each bucket packs
+ * the time slot it belongs to and its count into one long, so a bucket is reused for a new slot
+ * and counted into with a single compare-and-set, without locks and without lost updates.
+ */
+class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 22;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray buckets;
+    private final long bucketMillis;
+
+    SlidingWindowCounter(long windowMillis, int bucketCount) {
+        this.buckets = new AtomicLongArray(bucketCount);
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * Adds one event at {@code nowMillis} and returns the count in the window including it.
+     */
+    long incrementAndGet(long nowMillis) {
+        long slot = nowMillis / bucketMillis;
+        int index = (int) (slot % buckets.length());
+        while (true) {
+            long current = buckets.get(index);
+            long currentSlot = current >>> COUNT_BITS;
+            long next;
+            if (currentSlot == slot) {
+                next = (current & COUNT_MASK) == COUNT_MASK ? current : current + 1;
+            } else if (currentSlot < slot) {
+                next = (slot << COUNT_BITS) | 1;
+            } else {
+                // A thread with a later clock reading already moved the bucket on.
+                break;
+            }
+            if (buckets.compareAndSet(index, current, next)) {
+                break;
+            }
+        }
+        return get(nowMillis);
+    }
+
+    long get(long nowMillis) {
+        long slot = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            long bucket = buckets.get(i);
+            long bucketSlot = bucket >>> COUNT_BITS;
+            if (bucketSlot <= slot && slot - bucketSlot < buckets.length()) {
+                total += bucket & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+}
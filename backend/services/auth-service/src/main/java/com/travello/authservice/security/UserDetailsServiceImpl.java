@@ -1,15 +1,17 @@
 package com.travello.authservice.security;
 
 
+import com.travello.authservice.model.Traveler;
 import com.travello.authservice.repository.TravelerRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     TravelerRepository travelerRepository;
 
@@ -26,4 +28,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
 
     }
+
+    // Called after a successful login whose stored hash used a lower work factor than configured.
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Traveler traveler = (Traveler) user;
+        traveler.setPassword(newPassword);
+        return travelerRepository.save(traveler);
+    }
 }
@@ -0,0 +1,31 @@
+package com.travello.authservice.security.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The authenticated user as described by a verified token. Built from the claims alone, so
+ * authenticating a request does not touch the database.
+ *
+ * @param id        the traveler id, or {@code null} for tokens issued before it was a claim
+ * @param roles     authorities such as {@code ROLE_USER}
+ * @param tokenId   the token's {@code jti}, or {@code null} for tokens issued before it was a claim
+ * @param expiresAt when the token expires
+ */
+public record JwtPrincipal(UUID id, String username, List<String> roles, String tokenId, Instant expiresAt)
+        implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+    }
+}
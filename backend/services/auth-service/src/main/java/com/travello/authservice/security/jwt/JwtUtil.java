@@ -1,7 +1,12 @@
 package com.travello.authservice.security.jwt;
 
 
+import com.travello.authservice.model.Traveler;
+import com.travello.authservice.security.revocation.TokenDenylist;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -11,56 +16,103 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 
+/**
+ * Issues and verifies the HS256 tokens. Tokens carry the user id ({@value #USER_ID_CLAIM}) and
+ * authorities ({@value #ROLES_CLAIM}), so a verified token is enough to build the principal.
+ * The key and parser are built once; both are thread-safe. Each token has a random id
+ * ({@code jti}) and is rejected once that id is in the {@link TokenDenylist}.
+ */
 @Component
 public class JwtUtil {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
-    @Value("${jwt.secret}")
-    private String secret;
-    @Value("${jwt.expiration.ms}")
-    private int jwtExpirationMs;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final int jwtExpirationMs;
+    private final TokenDenylist tokenDenylist;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration.ms}") int jwtExpirationMs,
+                   TokenDenylist tokenDenylist) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.tokenDenylist = tokenDenylist;
+    }
 
 
     public String generateJwtToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return Jwts.builder()
+        List<String> roles = userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        var builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject((userDetails.getUsername()))
+                .claim(ROLES_CLAIM, roles)
                 .issuedAt(new Date())
-                .expiration(new Date(new Date().getTime() +jwtExpirationMs))
-                .signWith(key())
-                .compact();
+                .expiration(new Date(new Date().getTime() +jwtExpirationMs));
+        if (userDetails instanceof Traveler traveler && traveler.getId() != null) {
+            builder.claim(USER_ID_CLAIM, traveler.getId().toString());
+        }
+        return builder.signWith(key).compact();
 
     }
     public String getUsernameFromJwtToken(String token) {
-        return Jwts.parser().verifyWith(key()).build()
-                .parseSignedClaims(token).getPayload().getSubject();
+        return parser.parseSignedClaims(token).getPayload().getSubject();
     }
 
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    public boolean validateJwtToken(String token) {
+        return parseClaims(token).isPresent();
     }
 
-    public boolean validateJwtToken(String token) {
+    /**
+     * Verifies the token once and returns who it was issued to, or empty if it is invalid.
+     */
+    public Optional<JwtPrincipal> getPrincipal(String token) {
+        return parseClaims(token).map(claims -> {
+            String userId = claims.get(USER_ID_CLAIM, String.class);
+            List<?> roles = claims.get(ROLES_CLAIM, List.class);
+            return new JwtPrincipal(
+                    userId != null ? UUID.fromString(userId) : null,
+                    claims.getSubject(),
+                    roles != null ? roles.stream().map(String::valueOf).toList() : List.of(),
+                    claims.getId(),
+                    claims.getExpiration().toInstant());
+        });
+    }
+
+    private Optional<Claims> parseClaims(String token) {
         try{
-            Jwts.parser().verifyWith(key()).build().parse(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (tokenDenylist.isRevoked(claims.getId())) {
+                logger.debug("JWT token is revoked: {}", claims.getId());
+                return Optional.empty();
+            }
+            return Optional.of(claims);
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT token is not valid: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
 
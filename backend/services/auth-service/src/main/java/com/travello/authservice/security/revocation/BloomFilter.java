@@ -0,0 +1,69 @@
+package com.travello.authservice.security.revocation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set membership with false positives but no false negatives, sized for {@code capacity}
+ * entries at the given false positive rate. Bits are set with compare-and-set, so adding and
+ * querying need no locks. Entries cannot be removed; build a new filter instead.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    BloomFilter(int capacity, double falsePositiveRate) {
+        this.capacity = Math.max(1, capacity);
+        long optimalBits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, optimalBits);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void put(String value) {
+        long[] hashes = hashes(value);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long[] hashes = hashes(value);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Double hashing: two independent 64-bit hashes stand in for hashCount hash functions.
+    private static long[] hashes(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return new long[]{mix(hash), mix(hash ^ 0x9E3779B97F4A7C15L) | 1};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,104 @@
+package com.travello.authservice.security.revocation;
+
+import com.travello.authservice.dto.RevocationFeedDTO;
+import com.travello.authservice.dto.RevokedTokenDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Ids ({@code jti}) of tokens revoked before their expiry, kept in memory. A lookup first asks
+ * a Bloom filter, so the common case of a token that was never revoked costs a few bit reads;
+ * only a positive is confirmed against the exact set. Entries are dropped once the token has
+ * expired anyway, and the filter is then rebuilt from what is left.
+ *
+ * <p>Revocations are also numbered in a feed that other verifiers, such as the gateway, poll
+ * with the last sequence they have seen. The epoch changes on restart, when the denylist
+ * starts empty.
+ */
+@Component
+public class TokenDenylist {
+
+    static final int MAX_FEED_PAGE = 1000;
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, RevokedTokenDTO> feed = new ConcurrentSkipListMap<>();
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final InstantSource clock;
+    private long sequence;
+    private volatile BloomFilter bloomFilter;
+
+    @Autowired
+    public TokenDenylist(@Value("${auth.revocation.bloom.expected.entries}") int expectedEntries,
+                         @Value("${auth.revocation.bloom.false.positive.rate}") double falsePositiveRate) {
+        this(expectedEntries, falsePositiveRate, InstantSource.system());
+    }
+
+    TokenDenylist(int expectedEntries, double falsePositiveRate, InstantSource clock) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    // Synchronized with the rebuild in purgeExpired, so no revocation is missing from the new filter.
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(clock.instant()) || revoked.putIfAbsent(tokenId, expiresAt) != null) {
+            return;
+        }
+        if (revoked.size() > bloomFilter.capacity()) {
+            rebuildBloomFilter();
+        } else {
+            bloomFilter.put(tokenId);
+        }
+        feed.put(++sequence, new RevokedTokenDTO(tokenId, expiresAt));
+    }
+
+    public RevocationFeedDTO getFeed(String epoch, long since) {
+        // A feed from before a restart is meaningless, start over.
+        long from = this.epoch.equals(epoch) ? since : 0;
+        List<Map.Entry<Long, RevokedTokenDTO>> page = feed.tailMap(from, false).entrySet().stream()
+                .limit(MAX_FEED_PAGE)
+                .toList();
+        long last = page.isEmpty() ? from : page.getLast().getKey();
+        return new RevocationFeedDTO(this.epoch, last, page.stream().map(Map.Entry::getValue).toList());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.purge.interval.ms}")
+    public synchronized void purgeExpired() {
+        Instant now = clock.instant();
+        boolean removed = revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        feed.values().removeIf(token -> !token.expiresAt().isAfter(now));
+        if (removed) {
+            rebuildBloomFilter();
+        }
+    }
+
+    int bloomFilterCapacity() {
+        return bloomFilter.capacity();
+    }
+
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.travello.authservice.service;
+
+import com.travello.authservice.dto.RevocationFeedDTO;
+import com.travello.authservice.security.jwt.JwtPrincipal;
+import com.travello.authservice.security.revocation.TokenDenylist;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+public class TokenRevocationService {
+
+    private final TokenDenylist tokenDenylist;
+    private final long jwtExpirationMs;
+
+    public TokenRevocationService(TokenDenylist tokenDenylist, @Value("${jwt.expiration.ms}") long jwtExpirationMs) {
+        this.tokenDenylist = tokenDenylist;
+        this.jwtExpirationMs = jwtExpirationMs;
+    }
+
+    // Tokens issued before they carried an id cannot be revoked; they expire on their own.
+    public void logout(JwtPrincipal principal) {
+        if (principal.tokenId() != null) {
+            tokenDenylist.revoke(principal.tokenId(), principal.expiresAt());
+        }
+    }
+
+    // The expiry of an arbitrary token id is unknown; keep it for the longest lifetime a token can have.
+    public void revoke(String tokenId) {
+        tokenDenylist.revoke(tokenId, Instant.now().plusMillis(jwtExpirationMs));
+    }
+
+    public RevocationFeedDTO getFeed(String epoch, long since) {
+        return tokenDenylist.getFeed(epoch, since);
+    }
+}
@@ -0,0 +1,245 @@
+package com.travello.authservice.service;
+
+import com.travello.authservice.dto.NewTravelerDTO;
+import com.travello.authservice.dto.TravelerImportResultDTO;
+import com.travello.authservice.dto.TravelerImportResultDTO.Status;
+import com.travello.authservice.exception.PasswordHashingBusyException;
+import com.travello.authservice.model.Traveler;
+import com.travello.authservice.repository.TravelerBatchRepository;
+import com.travello.authservice.repository.TravelerBatchRepository.TakenKeys;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Imports travelers from NDJSON, one {@link NewTravelerDTO} per line, and writes one
+ * {@link TravelerImportResultDTO} per line back as NDJSON. Lines are handled in chunks: one
+ * query finds the emails and usernames already taken, passwords are hashed in parallel on the
+ * shared hashing executor, and the new rows are written with JDBC batches. Results of a chunk
+ * are flushed before the next one is read, so a client sees progress on large files.
+ */
+@Service
+public class TravelerImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TravelerImportService.class);
+    private static final int MAX_HASHING_ATTEMPTS = 5;
+    private static final long HASHING_RETRY_MS = 100;
+
+    private final TravelerBatchRepository travelerBatchRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int hashingParallelism;
+
+    public TravelerImportService(TravelerBatchRepository travelerBatchRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 @Value("${auth.import.chunk.size}") int chunkSize,
+                                 @Value("${auth.import.hashing.parallelism}") int hashingParallelism) {
+        this.travelerBatchRepository = travelerBatchRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.hashingParallelism = hashingParallelism > 0 ? hashingParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public void importTravelers(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, output);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, output);
+        }
+    }
+
+    private ImportRow parse(long lineNumber, String line) {
+        ImportRow row = new ImportRow(lineNumber);
+        try {
+            row.traveler = objectMapper.readValue(line, NewTravelerDTO.class);
+        } catch (JacksonException e) {
+            row.reject(Status.INVALID, "Not a valid JSON object");
+            return row;
+        }
+        Set<ConstraintViolation<NewTravelerDTO>> violations = validator.validate(row.traveler);
+        if (!violations.isEmpty()) {
+            row.reject(Status.INVALID, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return row;
+    }
+
+    private void importChunk(List<ImportRow> chunk, OutputStream output) throws IOException {
+        rejectDuplicates(chunk);
+        hashPasswords(chunk);
+        insert(chunk);
+        for (ImportRow row : chunk.stream().sorted(Comparator.comparingLong(row -> row.lineNumber)).toList()) {
+            output.write(objectMapper.writeValueAsBytes(row.result()));
+            output.write('\n');
+        }
+        output.flush();
+    }
+
+    private void rejectDuplicates(List<ImportRow> chunk) {
+        List<ImportRow> pending = pending(chunk);
+        TakenKeys taken = travelerBatchRepository.findTaken(
+                pending.stream().map(row -> row.traveler.getEmail()).toList(),
+                pending.stream().map(row -> row.traveler.getUsername()).toList());
+        Set<String> emails = new HashSet<>(taken.emails());
+        Set<String> usernames = new HashSet<>(taken.usernames());
+        for (ImportRow row : pending) {
+            // add() also catches repeats within the file, the first occurrence wins.
+            if (!emails.add(row.traveler.getEmail())) {
+                row.reject(Status.DUPLICATE, "The email already exists");
+            } else if (!usernames.add(row.traveler.getUsername())) {
+                row.reject(Status.DUPLICATE, "The username already exists");
+            }
+        }
+    }
+
+    // Each caller thread blocks on the hashing executor, so at most hashingParallelism passwords
+    // of an import are queued there and logins keep room in the queue.
+    private void hashPasswords(List<ImportRow> chunk) {
+        Semaphore inFlight = new Semaphore(hashingParallelism);
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<ImportRow> pending = pending(chunk);
+            List<Future<String>> hashes = pending.stream()
+                    .map(row -> callers.submit(() -> hash(row.traveler.getPassword(), inFlight)))
+                    .toList();
+            for (int i = 0; i < pending.size(); i++) {
+                try {
+                    pending.get(i).passwordHash = hashes.get(i).get();
+                } catch (ExecutionException e) {
+                    pending.get(i).reject(Status.FAILED, "Could not hash the password, import the line again");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while hashing passwords", e);
+                }
+            }
+        }
+    }
+
+    private String hash(String password, Semaphore inFlight) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return passwordEncoder.encode(password);
+                } catch (PasswordHashingBusyException e) {
+                    if (attempt == MAX_HASHING_ATTEMPTS) {
+                        throw e;
+                    }
+                    Thread.sleep(HASHING_RETRY_MS * attempt);
+                }
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void insert(List<ImportRow> chunk) {
+        List<ImportRow> pending = pending(chunk);
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            travelerBatchRepository.insertAll(pending.stream().map(ImportRow::toTraveler).toList());
+        } catch (DuplicateKeyException e) {
+            // Someone registered one of these travelers since the duplicate check; find out which.
+            pending.forEach(this::insertOne);
+        } catch (DataAccessException e) {
+            logger.error("Could not insert {} imported travelers", pending.size(), e);
+            pending.forEach(row -> row.reject(Status.FAILED, "Could not save the traveler, import the line again"));
+        }
+    }
+
+    private void insertOne(ImportRow row) {
+        try {
+            travelerBatchRepository.insertAll(List.of(row.toTraveler()));
+        } catch (DuplicateKeyException e) {
+            row.reject(Status.DUPLICATE, "The email or username already exists");
+        } catch (DataAccessException e) {
+            logger.error("Could not insert imported traveler on line {}", row.lineNumber, e);
+            row.reject(Status.FAILED, "Could not save the traveler, import the line again");
+        }
+    }
+
+    private static List<ImportRow> pending(List<ImportRow> chunk) {
+        return chunk.stream().filter(row -> row.rejection == null).toList();
+    }
+
+    private static final class ImportRow {
+        private final long lineNumber;
+        private NewTravelerDTO traveler;
+        private String passwordHash;
+        private TravelerImportResultDTO rejection;
+
+        private ImportRow(long lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+
+        private void reject(Status status, String message) {
+            rejection = new TravelerImportResultDTO(lineNumber, email(), status, message);
+        }
+
+        private TravelerImportResultDTO result() {
+            return rejection != null ? rejection : new TravelerImportResultDTO(lineNumber, email(), Status.CREATED, null);
+        }
+
+        private String email() {
+            return traveler != null ? traveler.getEmail() : null;
+        }
+
+        private Traveler toTraveler() {
+            return Traveler.builder()
+                    .id(UUID.randomUUID())
+                    .username(traveler.getUsername())
+                    .password(passwordHash)
+                    .email(traveler.getEmail())
+                    .build();
+        }
+    }
+}
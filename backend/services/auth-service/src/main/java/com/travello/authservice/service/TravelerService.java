@@ -6,11 +6,12 @@ import com.travello.authservice.dto.NewTravelerDTO;
 import com.travello.authservice.exception.EmailAlreadyExistsException;
 import com.travello.authservice.model.Traveler;
 import com.travello.authservice.repository.TravelerRepository;
+import com.travello.authservice.security.LoginThrottle;
 import com.travello.authservice.security.jwt.JwtUtil;
-import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -33,12 +34,15 @@ public class TravelerService {
     private final JwtUtil jwtUtil;
     private final static Logger logger = LoggerFactory.getLogger(TravelerService.class);
     private final PasswordEncoder passwordEncoder;
+    private final LoginThrottle loginThrottle;
 
-    public TravelerService(TravelerRepository travelerRepository, AuthenticationManager authenticationManager, JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+    public TravelerService(TravelerRepository travelerRepository, AuthenticationManager authenticationManager, JwtUtil jwtUtil, PasswordEncoder passwordEncoder,
+                           LoginThrottle loginThrottle) {
         this.travelerRepository = travelerRepository;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.passwordEncoder = passwordEncoder;
+        this.loginThrottle = loginThrottle;
     }
 
     public void registerUser(NewTravelerDTO traveler) {
@@ -54,10 +58,19 @@ public class TravelerService {
 
         travelerRepository.save(newTraveler);
     }
-    public JwtDTO loginUser(LoginTravelerDTO traveler) {
-        Authentication authentication = authenticationManager.authenticate(new
-                UsernamePasswordAuthenticationToken(traveler.getEmail(),
-                traveler.getPassword()));
+    public JwtDTO loginUser(LoginTravelerDTO traveler, String clientIp) {
+        // Checked before authenticating: a rejected attempt costs no password verification.
+        loginThrottle.acquire(clientIp, traveler.getEmail());
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(new
+                    UsernamePasswordAuthenticationToken(traveler.getEmail(),
+                    traveler.getPassword()));
+        } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(traveler.getEmail());
+            throw e;
+        }
+        loginThrottle.recordSuccess(traveler.getEmail());
 
         logger.info(Objects.requireNonNull(authentication.getPrincipal()).toString());
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -72,11 +85,6 @@ public class TravelerService {
     }
 
     public boolean validateToken(String token) {
-        try{
-            jwtUtil.validateJwtToken(token);
-            return true;
-        } catch (JwtException e){
-            return false;
-        }
+        return jwtUtil.validateJwtToken(token);
     }
 }
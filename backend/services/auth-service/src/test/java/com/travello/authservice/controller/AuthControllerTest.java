@@ -0,0 +1,74 @@
+package com.travello.authservice.controller;
+
+import com.travello.authservice.model.Traveler;
+import com.travello.authservice.repository.TravelerRepository;
+import com.travello.authservice.security.LoginThrottle;
+import com.travello.authservice.security.jwt.JwtUtil;
+import com.travello.authservice.security.revocation.TokenDenylist;
+import com.travello.authservice.service.TokenRevocationService;
+import com.travello.authservice.service.TravelerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Base64;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final TokenDenylist tokenDenylist = new TokenDenylist(100, 0.01);
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, tokenDenylist);
+    private final TokenRevocationService tokenRevocationService = new TokenRevocationService(tokenDenylist, 60_000);
+    private final TravelerService travelerService = new TravelerService(mock(TravelerRepository.class),
+            mock(AuthenticationManager.class), jwtUtil, mock(PasswordEncoder.class), mock(LoginThrottle.class));
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new AuthController(travelerService, tokenRevocationService))
+            .build();
+
+    @Test
+    @DisplayName("validate answers 200 for a valid token and 401 once it is logged out")
+    void shouldRejectLoggedOutToken() throws Exception {
+        String token = token(jwtUtil);
+        mockMvc.perform(get("/auth/validate").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        tokenRevocationService.logout(jwtUtil.getPrincipal(token).orElseThrow());
+
+        mockMvc.perform(get("/auth/validate").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("validate answers 401 for a token signed with another key")
+    void shouldRejectForgedToken() throws Exception {
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        String token = token(new JwtUtil(Base64.getEncoder().encodeToString(otherKey), 60_000, tokenDenylist));
+
+        mockMvc.perform(get("/auth/validate").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("validate answers 401 for an expired token")
+    void shouldRejectExpiredToken() throws Exception {
+        String token = token(new JwtUtil(SECRET, -1_000, tokenDenylist));
+
+        mockMvc.perform(get("/auth/validate").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static String token(JwtUtil issuer) {
+        Traveler traveler = Traveler.builder().username("john_doe").email("john@example.com").password("x").build();
+        return issuer.generateJwtToken(new UsernamePasswordAuthenticationToken(traveler, null, traveler.getAuthorities()));
+    }
+}
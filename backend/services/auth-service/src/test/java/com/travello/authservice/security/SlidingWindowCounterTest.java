@@ -0,0 +1,42 @@
+package com.travello.authservice.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCounterTest {
+
+    @Test
+    @DisplayName("counts events within the window and forgets them once it has passed")
+    void shouldSlideWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 6);
+
+        counter.incrementAndGet(0);
+        counter.incrementAndGet(15_000);
+        assertThat(counter.incrementAndGet(55_000)).isEqualTo(3);
+
+        assertThat(counter.get(65_000)).isEqualTo(2);
+        assertThat(counter.get(105_000)).isEqualTo(1);
+        assertThat(counter.get(125_000)).isZero();
+    }
+
+    @Test
+    @DisplayName("loses no increments under concurrent updates")
+    void shouldCountConcurrentIncrements() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 6);
+
+        CompletableFuture.allOf(IntStream.range(0, 8)
+                .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        counter.incrementAndGet(1_000);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new)).join();
+
+        assertThat(counter.get(1_000)).isEqualTo(80_000);
+    }
+}
@@ -0,0 +1,74 @@
+package com.travello.authservice.security.jwt;
+
+import com.travello.authservice.dto.RevokedTokenDTO;
+import com.travello.authservice.model.Role;
+import com.travello.authservice.model.Traveler;
+import com.travello.authservice.security.revocation.TokenDenylist;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final TokenDenylist tokenDenylist = new TokenDenylist(100, 0.01);
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, tokenDenylist);
+
+    @Test
+    @DisplayName("builds the principal from the id and roles claims of the token")
+    void shouldBuildPrincipal_fromClaims() {
+        UUID id = UUID.randomUUID();
+        Traveler traveler = Traveler.builder()
+                .id(id)
+                .username("john_doe")
+                .email("john@example.com")
+                .password("encoded")
+                .roles(Set.of(Role.USER, Role.ADMIN))
+                .build();
+        String token = jwtUtil.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(traveler, null, traveler.getAuthorities()));
+
+        JwtPrincipal principal = jwtUtil.getPrincipal(token).orElseThrow();
+
+        assertThat(principal.id()).isEqualTo(id);
+        assertThat(principal.getName()).isEqualTo("john_doe");
+        assertThat(principal.roles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("rejects a token signed with another key")
+    void shouldReject_whenSignedWithAnotherKey() {
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        JwtUtil other = new JwtUtil(Base64.getEncoder().encodeToString(otherKey), 60_000, tokenDenylist);
+        Traveler traveler = Traveler.builder().username("john_doe").email("john@example.com").password("x").build();
+        String token = other.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(traveler, null, traveler.getAuthorities()));
+
+        assertThat(jwtUtil.getPrincipal(token)).isEmpty();
+        assertThat(jwtUtil.validateJwtToken(token)).isFalse();
+    }
+
+    @Test
+    @DisplayName("rejects a token once its id is revoked")
+    void shouldReject_whenRevoked() {
+        Traveler traveler = Traveler.builder().username("john_doe").email("john@example.com").password("x").build();
+        String token = jwtUtil.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(traveler, null, traveler.getAuthorities()));
+        JwtPrincipal principal = jwtUtil.getPrincipal(token).orElseThrow();
+
+        tokenDenylist.revoke(principal.tokenId(), principal.expiresAt());
+
+        assertThat(jwtUtil.getPrincipal(token)).isEmpty();
+        assertThat(tokenDenylist.getFeed(null, 0).revoked())
+                .extracting(RevokedTokenDTO::tokenId)
+                .containsExactly(principal.tokenId());
+    }
+}
@@ -0,0 +1,107 @@
+package com.travello.authservice.security.revocation;
+
+import com.travello.authservice.dto.RevocationFeedDTO;
+import com.travello.authservice.dto.RevokedTokenDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T10:00:00Z"));
+
+    @Test
+    @DisplayName("grows the Bloom filter once it holds more revocations than it was sized for")
+    void shouldResizeBloomFilter_whenOverCapacity() {
+        TokenDenylist denylist = new TokenDenylist(4, 0.01, now::get);
+
+        for (int i = 0; i < 5; i++) {
+            denylist.revoke("token-" + i, later(30));
+        }
+
+        assertThat(denylist.bloomFilterCapacity()).isGreaterThanOrEqualTo(10);
+        for (int i = 0; i < 5; i++) {
+            assertThat(denylist.isRevoked("token-" + i)).isTrue();
+        }
+        assertThat(denylist.isRevoked("token-5")).isFalse();
+    }
+
+    @Test
+    @DisplayName("purges expired revocations from the set and the feed and rebuilds the filter from the rest")
+    void shouldPurgeExpiredRevocations() {
+        TokenDenylist denylist = new TokenDenylist(4, 0.01, now::get);
+        for (int i = 0; i < 10; i++) {
+            denylist.revoke("short-" + i, later(5));
+        }
+        denylist.revoke("long", later(60));
+        assertThat(denylist.bloomFilterCapacity()).isGreaterThan(4);
+
+        now.set(later(10));
+        denylist.purgeExpired();
+
+        assertThat(denylist.isRevoked("short-0")).isFalse();
+        assertThat(denylist.isRevoked("long")).isTrue();
+        assertThat(denylist.bloomFilterCapacity()).isEqualTo(4);
+        assertThat(denylist.getFeed(null, 0).revoked()).extracting(RevokedTokenDTO::tokenId).containsExactly("long");
+    }
+
+    @Test
+    @DisplayName("ignores tokens that have already expired")
+    void shouldIgnoreExpiredToken() {
+        TokenDenylist denylist = new TokenDenylist(4, 0.01, now::get);
+
+        denylist.revoke("token", now.get());
+
+        assertThat(denylist.isRevoked("token")).isFalse();
+        assertThat(denylist.getFeed(null, 0).revoked()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("pages through the feed MAX_FEED_PAGE revocations at a time")
+    void shouldPageFeed() {
+        TokenDenylist denylist = new TokenDenylist(100, 0.01, now::get);
+        int total = TokenDenylist.MAX_FEED_PAGE * 2 + 500;
+        for (int i = 0; i < total; i++) {
+            denylist.revoke("token-" + i, later(30));
+        }
+
+        RevocationFeedDTO first = denylist.getFeed(null, 0);
+        RevocationFeedDTO second = denylist.getFeed(first.epoch(), first.sequence());
+        RevocationFeedDTO third = denylist.getFeed(first.epoch(), second.sequence());
+        RevocationFeedDTO caughtUp = denylist.getFeed(first.epoch(), third.sequence());
+
+        assertThat(first.revoked()).hasSize(TokenDenylist.MAX_FEED_PAGE);
+        assertThat(first.revoked().getFirst().tokenId()).isEqualTo("token-0");
+        assertThat(second.revoked()).hasSize(TokenDenylist.MAX_FEED_PAGE);
+        assertThat(second.revoked().getFirst().tokenId()).isEqualTo("token-" + TokenDenylist.MAX_FEED_PAGE);
+        assertThat(third.revoked()).hasSize(500);
+        assertThat(third.sequence()).isEqualTo(total);
+        assertThat(caughtUp.revoked()).isEmpty();
+        assertThat(caughtUp.sequence()).isEqualTo(total);
+    }
+
+    @Test
+    @DisplayName("starts a poller with the sequence of another epoch from the beginning of its own feed")
+    void shouldRestartFeed_whenEpochChanged() {
+        TokenDenylist beforeRestart = new TokenDenylist(100, 0.01, now::get);
+        beforeRestart.revoke("old", later(30));
+        RevocationFeedDTO seen = beforeRestart.getFeed(null, 0);
+        TokenDenylist afterRestart = new TokenDenylist(100, 0.01, now::get);
+        afterRestart.revoke("new", later(30));
+
+        RevocationFeedDTO feed = afterRestart.getFeed(seen.epoch(), seen.sequence() + 10);
+
+        assertThat(feed.epoch()).isNotEqualTo(seen.epoch());
+        assertThat(feed.revoked()).extracting(RevokedTokenDTO::tokenId).containsExactly("new");
+        assertThat(feed.sequence()).isEqualTo(1);
+    }
+
+    private Instant later(int minutes) {
+        return now.get().plus(Duration.ofMinutes(minutes));
+    }
+}
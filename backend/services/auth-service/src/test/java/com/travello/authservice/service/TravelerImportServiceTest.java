@@ -0,0 +1,114 @@
+package com.travello.authservice.service;
+
+import com.travello.authservice.dto.TravelerImportResultDTO;
+import com.travello.authservice.dto.TravelerImportResultDTO.Status;
+import com.travello.authservice.model.Traveler;
+import com.travello.authservice.repository.TravelerBatchRepository;
+import com.travello.authservice.repository.TravelerBatchRepository.TakenKeys;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TravelerImportServiceTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Mock private TravelerBatchRepository travelerBatchRepository;
+    @Mock private PasswordEncoder passwordEncoder;
+
+    private TravelerImportService travelerImportService;
+
+    @BeforeEach
+    void setUp() {
+        travelerImportService = new TravelerImportService(travelerBatchRepository, passwordEncoder,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, 10, 2);
+    }
+
+    @Test
+    @DisplayName("creates valid rows and reports invalid and duplicate ones, in line order")
+    @SuppressWarnings("unchecked")
+    void shouldReportEveryLine() throws IOException {
+        when(travelerBatchRepository.findTaken(anyCollection(), anyCollection()))
+                .thenReturn(new TakenKeys(Set.of("taken@example.com"), Set.of("taken")));
+        when(passwordEncoder.encode(any())).thenAnswer(inv -> "encoded-" + inv.getArgument(0));
+
+        List<TravelerImportResultDTO> results = importLines(
+                "{\"username\":\"john_doe\",\"email\":\"john@example.com\",\"password\":\"secret\"}",
+                "{\"username\":\"other\",\"email\":\"taken@example.com\",\"password\":\"secret\"}",
+                "",
+                "not json",
+                "{\"username\":\"jane\",\"email\":\"not-an-email\",\"password\":\"secret\"}",
+                "{\"username\":\"john_doe\",\"email\":\"john2@example.com\",\"password\":\"secret\"}");
+
+        assertThat(results).extracting(TravelerImportResultDTO::line, TravelerImportResultDTO::status)
+                .containsExactly(
+                        tuple(1L, Status.CREATED),
+                        tuple(2L, Status.DUPLICATE),
+                        tuple(4L, Status.INVALID),
+                        tuple(5L, Status.INVALID),
+                        tuple(6L, Status.DUPLICATE));
+        ArgumentCaptor<List<Traveler>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(travelerBatchRepository).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).singleElement().satisfies(traveler -> {
+            assertThat(traveler.getUsername()).isEqualTo("john_doe");
+            assertThat(traveler.getPassword()).isEqualTo("encoded-secret");
+            assertThat(traveler.getId()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("falls back to row by row inserts when a batch hits a concurrent registration")
+    void shouldInsertRowByRow_whenBatchHitsDuplicateKey() throws IOException {
+        when(travelerBatchRepository.findTaken(anyCollection(), anyCollection()))
+                .thenReturn(new TakenKeys(Set.of(), Set.of()));
+        when(passwordEncoder.encode(any())).thenReturn("encoded");
+        // b@example.com was registered since the duplicate check.
+        doAnswer(inv -> {
+            List<Traveler> travelers = inv.getArgument(0);
+            if (travelers.stream().anyMatch(traveler -> traveler.getEmail().equals("b@example.com"))) {
+                throw new DuplicateKeyException("users_email_key");
+            }
+            return null;
+        }).when(travelerBatchRepository).insertAll(any());
+
+        List<TravelerImportResultDTO> results = importLines(
+                "{\"username\":\"a\",\"email\":\"a@example.com\",\"password\":\"secret\"}",
+                "{\"username\":\"b\",\"email\":\"b@example.com\",\"password\":\"secret\"}");
+
+        assertThat(results).extracting(TravelerImportResultDTO::status)
+                .containsExactly(Status.CREATED, Status.DUPLICATE);
+        verify(travelerBatchRepository, times(3)).insertAll(any());
+    }
+
+    private List<TravelerImportResultDTO> importLines(String... lines) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        travelerImportService.importTravelers(
+                new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> objectMapper.readValue(line, TravelerImportResultDTO.class))
+                .toList();
+    }
+}
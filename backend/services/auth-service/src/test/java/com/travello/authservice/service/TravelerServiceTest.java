@@ -7,6 +7,8 @@ import com.travello.authservice.exception.EmailAlreadyExistsException;
 import com.travello.authservice.model.Role;
 import com.travello.authservice.model.Traveler;
 import com.travello.authservice.repository.TravelerRepository;
+import com.travello.authservice.exception.LoginThrottledException;
+import com.travello.authservice.security.LoginThrottle;
 import com.travello.authservice.security.jwt.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +26,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,10 +37,13 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TravelerServiceTest {
 
+    private static final String CLIENT_IP = "203.0.113.7";
+
     @Mock private TravelerRepository travelerRepository;
     @Mock private AuthenticationManager authenticationManager;
     @Mock private JwtUtil jwtUtil;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private LoginThrottle loginThrottle;
 
     @InjectMocks
     private TravelerService travelerService;
@@ -162,7 +168,7 @@ class TravelerServiceTest {
             when(authentication.getPrincipal()).thenReturn(traveler);
             when(jwtUtil.generateJwtToken(authentication)).thenReturn("mocked.jwt.token");
 
-            JwtDTO result = travelerService.loginUser(dto);
+            JwtDTO result = travelerService.loginUser(dto, CLIENT_IP);
 
             assertThat(result.token()).isEqualTo("mocked.jwt.token");
         }
@@ -174,7 +180,7 @@ class TravelerServiceTest {
             when(authentication.getPrincipal()).thenReturn(traveler);
             when(jwtUtil.generateJwtToken(authentication)).thenReturn("token");
 
-            JwtDTO result = travelerService.loginUser(dto);
+            JwtDTO result = travelerService.loginUser(dto, CLIENT_IP);
 
             assertThat(result.user()).isEqualTo("john_doe");
         }
@@ -186,7 +192,7 @@ class TravelerServiceTest {
             when(authentication.getPrincipal()).thenReturn(traveler);
             when(jwtUtil.generateJwtToken(authentication)).thenReturn("token");
 
-            JwtDTO result = travelerService.loginUser(dto);
+            JwtDTO result = travelerService.loginUser(dto, CLIENT_IP);
 
             assertThat(result.roles()).containsExactly("ROLE_USER");
         }
@@ -205,7 +211,7 @@ class TravelerServiceTest {
             when(authentication.getPrincipal()).thenReturn(multiRoleTraveler);
             when(jwtUtil.generateJwtToken(authentication)).thenReturn("token");
 
-            JwtDTO result = travelerService.loginUser(dto);
+            JwtDTO result = travelerService.loginUser(dto, CLIENT_IP);
 
             assertThat(result.roles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
         }
@@ -217,7 +223,7 @@ class TravelerServiceTest {
             when(authentication.getPrincipal()).thenReturn(traveler);
             when(jwtUtil.generateJwtToken(authentication)).thenReturn("token");
 
-            travelerService.loginUser(dto);
+            travelerService.loginUser(dto, CLIENT_IP);
 
             ArgumentCaptor<UsernamePasswordAuthenticationToken> captor =
                     ArgumentCaptor.forClass(UsernamePasswordAuthenticationToken.class);
@@ -234,7 +240,7 @@ class TravelerServiceTest {
             when(authentication.getPrincipal()).thenReturn(traveler);
             when(jwtUtil.generateJwtToken(authentication)).thenReturn("token");
 
-            travelerService.loginUser(dto);
+            travelerService.loginUser(dto, CLIENT_IP);
 
             assertThat(SecurityContextHolder.getContext().getAuthentication())
                     .isSameAs(authentication);
@@ -247,7 +253,7 @@ class TravelerServiceTest {
             when(authentication.getPrincipal()).thenReturn(traveler);
             when(jwtUtil.generateJwtToken(authentication)).thenReturn("token");
 
-            travelerService.loginUser(dto);
+            travelerService.loginUser(dto, CLIENT_IP);
 
             verify(jwtUtil, times(1)).generateJwtToken(authentication);
         }
@@ -258,12 +264,37 @@ class TravelerServiceTest {
             when(authenticationManager.authenticate(any()))
                     .thenThrow(new BadCredentialsException("Bad credentials"));
 
-            assertThatThrownBy(() -> travelerService.loginUser(dto))
+            assertThatThrownBy(() -> travelerService.loginUser(dto, CLIENT_IP))
                     .isInstanceOf(BadCredentialsException.class)
                     .hasMessageContaining("Bad credentials");
 
             verify(jwtUtil, never()).generateJwtToken(any());
             assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         }
+
+        @Test
+        @DisplayName("records a failed attempt for the email when the credentials are wrong")
+        void shouldRecordFailure_whenAuthenticationFails() {
+            when(authenticationManager.authenticate(any()))
+                    .thenThrow(new BadCredentialsException("Bad credentials"));
+
+            assertThatThrownBy(() -> travelerService.loginUser(dto, CLIENT_IP))
+                    .isInstanceOf(BadCredentialsException.class);
+
+            verify(loginThrottle).recordFailure("john@example.com");
+            verify(loginThrottle, never()).recordSuccess(any());
+        }
+
+        @Test
+        @DisplayName("never authenticates when the login is throttled")
+        void shouldNotAuthenticate_whenThrottled() {
+            doThrow(new LoginThrottledException(Duration.ofSeconds(10)))
+                    .when(loginThrottle).acquire(CLIENT_IP, "john@example.com");
+
+            assertThatThrownBy(() -> travelerService.loginUser(dto, CLIENT_IP))
+                    .isInstanceOf(LoginThrottledException.class);
+
+            verify(authenticationManager, never()).authenticate(any());
+        }
     }
 }
\ No newline at end of file
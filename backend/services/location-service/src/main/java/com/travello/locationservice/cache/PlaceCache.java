@@ -0,0 +1,62 @@
+package com.travello.locationservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travello.locationservice.dto.PlaceDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Ready-made {@link PlaceDTO}s keyed by Google place id, plus short-lived entries for ids
+ * Google rejected. Hit, miss and eviction counts are published as {@code cache.*} metrics.
+ */
+@Component
+public class PlaceCache {
+
+    private final Cache<String, PlaceDTO> places;
+    private final Cache<String, Boolean> missingPlaces;
+
+    public PlaceCache(@Value("${place.cache.max.size}") long maxSize,
+                      @Value("${place.cache.ttl.ms}") long ttlMs,
+                      @Value("${place.cache.negative.ttl.ms}") long negativeTtlMs,
+                      MeterRegistry meterRegistry) {
+        this.places = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.missingPlaces = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(negativeTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, places, "places");
+        CaffeineCacheMetrics.monitor(meterRegistry, missingPlaces, "places.missing");
+    }
+
+    public PlaceDTO get(String placeId) {
+        return places.getIfPresent(placeId);
+    }
+
+    public void put(String placeId, PlaceDTO place) {
+        missingPlaces.invalidate(placeId);
+        places.put(placeId, place);
+    }
+
+    public boolean isMissing(String placeId) {
+        return missingPlaces.getIfPresent(placeId) != null;
+    }
+
+    public void markMissing(String placeId) {
+        missingPlaces.put(placeId, Boolean.TRUE);
+    }
+
+    public void evict(String placeId) {
+        places.invalidate(placeId);
+        missingPlaces.invalidate(placeId);
+    }
+}
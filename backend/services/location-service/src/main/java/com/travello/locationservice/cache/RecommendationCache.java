@@ -0,0 +1,60 @@
+package com.travello.locationservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travello.locationservice.dto.RecommendationDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Nearby search results keyed by geohash cell and place type, so map moves inside
+ * the same cell share one Google searchNearby call. Results are also kept much longer as
+ * last-known values, served flagged as stale while Google is unavailable.
+ */
+@Component
+public class RecommendationCache {
+
+    private final Cache<String, List<RecommendationDTO>> recommendations;
+    private final Cache<String, List<RecommendationDTO>> lastKnown;
+
+    public RecommendationCache(@Value("${recommendation.cache.max.size}") long maxSize,
+                               @Value("${recommendation.cache.ttl.ms}") long ttlMs,
+                               @Value("${recommendation.cache.last.known.ttl.ms}") long lastKnownTtlMs,
+                               MeterRegistry meterRegistry) {
+        this.recommendations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(lastKnownTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recommendations, "recommendations");
+        CaffeineCacheMetrics.monitor(meterRegistry, lastKnown, "recommendations.last.known");
+    }
+
+    public List<RecommendationDTO> get(String cell, String type) {
+        return recommendations.getIfPresent(key(cell, type));
+    }
+
+    public List<RecommendationDTO> getLastKnown(String cell, String type) {
+        return lastKnown.getIfPresent(key(cell, type));
+    }
+
+    public void put(String cell, String type, List<RecommendationDTO> result) {
+        List<RecommendationDTO> copy = List.copyOf(result);
+        recommendations.put(key(cell, type), copy);
+        lastKnown.put(key(cell, type), copy);
+    }
+
+    private String key(String cell, String type) {
+        return cell + ":" + type;
+    }
+}
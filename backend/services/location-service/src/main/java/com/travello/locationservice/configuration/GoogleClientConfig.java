@@ -0,0 +1,23 @@
+package com.travello.locationservice.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class GoogleClientConfig {
+
+    // One shared JDK client: HTTP/2 multiplexes all Google calls over kept-alive connections,
+    // falling back to pooled HTTP/1.1 connections where h2 is not negotiated.
+    @Bean
+    public HttpClient googleHttpClient(@Value("${google.client.connect.timeout.ms}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
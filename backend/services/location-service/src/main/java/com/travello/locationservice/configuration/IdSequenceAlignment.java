@@ -0,0 +1,44 @@
+package com.travello.locationservice.configuration;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the id sequences past the ids already in their tables. Rows written before the switch
+ * from identity columns to pooled sequences would otherwise collide with new ids. Runs before
+ * the web server accepts requests and never moves a sequence backwards.
+ */
+@Component
+public class IdSequenceAlignment {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAlignment.class);
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "places_seq", "places",
+            "photo_seq", "photo");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The EntityManagerFactory is only injected so the schema (and sequences) exist by now.
+    public IdSequenceAlignment(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        SEQUENCES.forEach((sequence, table) -> {
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence + "', GREATEST("
+                            + "(SELECT COALESCE(MAX(id), 1) FROM " + table + "), "
+                            + "(SELECT last_value FROM " + sequence + ")))",
+                    Long.class);
+            log.info("Sequence {} aligned to {}", sequence, value);
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.travello.locationservice.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PlaceResolutionConfig {
+
+    // Resolves unknown place ids for bulk lookups. A full queue rejects instead of piling up work
+    // that would miss its request deadline anyway.
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService placeResolutionExecutor(@Value("${place.bulk.concurrency}") int concurrency,
+                                                   @Value("${place.bulk.queue.size}") int queueSize,
+                                                   MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                Thread.ofPlatform().name("place-resolution-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "place.resolution");
+    }
+
+    // Background re-fetches of stale places. Refreshes that do not fit are dropped, the next
+    // read of the place asks again.
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService placeRefreshExecutor(@Value("${place.refresh.concurrency}") int concurrency,
+                                                @Value("${place.refresh.queue.size}") int queueSize,
+                                                MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                Thread.ofPlatform().name("place-refresh-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "place.refresh");
+    }
+
+    // Speculative resolution of places the user is likely to open next, kept apart from the
+    // pools serving actual requests.
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService placePrefetchExecutor(@Value("${place.prefetch.concurrency}") int concurrency,
+                                                 @Value("${place.prefetch.queue.size}") int queueSize,
+                                                 MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                Thread.ofPlatform().name("place-prefetch-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "place.prefetch");
+    }
+}
@@ -2,20 +2,28 @@ package com.travello.locationservice.controller;
 
 import com.travello.locationservice.dto.PlacePhotoDTO;
 import com.travello.locationservice.service.PlaceService;
+import com.travello.locationservice.storage.PhotoSize;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,6 +32,9 @@ import java.util.UUID;
 @RequestMapping("location/photos")
 public class PhotoController {
 
+    private static final CacheControl PHOTO_CACHE_CONTROL =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
     private final PlaceService placeService;
 
     public PhotoController(PlaceService placeService) {
@@ -34,17 +45,35 @@ public class PhotoController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Photo received succesfully",
             content = @Content(array = @ArraySchema(schema = @Schema(type = "string", format = "byte")))),
+            @ApiResponse(responseCode = "304", description = "Photo not modified", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Unknown size", content = @Content),
             @ApiResponse(responseCode = "404", description = "Photo not found",content = @Content)
     })
     @GetMapping("/{photoId}")
-    public ResponseEntity<byte[]> getPhoto(@PathVariable UUID photoId) {
-        byte[] imageBytes = placeService.getPhotoById(photoId);
-        if (imageBytes == null || imageBytes.length == 0) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Resource> getPhoto(
+            @PathVariable UUID photoId,
+            @Parameter(description = "thumb (200 px), medium (400 px), large (1200 px) or original")
+            @RequestParam(defaultValue = "medium") String size,
+            WebRequest webRequest) {
+        PhotoSize photoSize = PhotoSize.fromKey(size);
+        // Photo ids are random and their content never changes, so id and size make a strong validator.
+        String eTag = "\"" + photoId + "-" + photoSize.key() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(PHOTO_CACHE_CONTROL)
+                    .build();
         }
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType("image/png"))
-                .body(imageBytes);
+        return placeService.getPhotoById(photoId, photoSize)
+                .map(photo -> ResponseEntity.ok()
+                        .contentType(photo.contentType() != null
+                                ? MediaType.parseMediaType(photo.contentType())
+                                : MediaType.IMAGE_JPEG)
+                        .contentLength(photo.size())
+                        .eTag(eTag)
+                        .cacheControl(PHOTO_CACHE_CONTROL)
+                        .body(photo.resource()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Get all the photo ID by place ID")
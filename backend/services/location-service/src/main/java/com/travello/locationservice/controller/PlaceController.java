@@ -1,7 +1,12 @@
 package com.travello.locationservice.controller;
 
+import com.travello.locationservice.dto.NearbyPlaceDTO;
+import com.travello.locationservice.dto.PlaceBatchResultDTO;
+import com.travello.locationservice.dto.PlaceBulkDTO;
 import com.travello.locationservice.dto.PlaceCreateDTO;
 import com.travello.locationservice.dto.PlaceDTO;
+import com.travello.locationservice.dto.PlacePageDTO;
+import com.travello.locationservice.geo.Coordinates;
 import com.travello.locationservice.service.PlaceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,13 +16,22 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Tag(name = "Location", description = "Place management endpoints")
@@ -46,6 +60,82 @@ public class PlaceController {
         return placeService.getAllPlaces();
     }
 
+    @Operation(summary = "Get places page by page, ordered by insertion")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "One page of places and the cursor of the next page",
+                    content = @Content(schema = @Schema(implementation = PlacePageDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+    })
+    @GetMapping("/page")
+    public PlacePageDTO getPlacePage(
+            @Parameter(description = "Cursor returned by the previous page, empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server")
+            @RequestParam(defaultValue = "20") int limit) {
+        return placeService.getPlacePage(cursor, limit);
+    }
+
+    @Operation(summary = "Stream all places as newline-delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "One PlaceDTO per line",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = PlaceDTO.class)))
+    })
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamPlaces() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(placeService::streamAllPlaces);
+    }
+
+    @Operation(summary = "Find stored places around a point",
+            description = "Answered from the in-memory place index, closest places first")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Places within the radius",
+                    content = @Content(
+                            array = @ArraySchema(schema = @Schema(implementation = NearbyPlaceDTO.class))
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid parameters", content = @Content)
+    })
+    @GetMapping("/nearby")
+    public List<NearbyPlaceDTO> getNearbyPlaces(
+            @Parameter(description = "Latitude of the centre", required = true) @RequestParam double lat,
+            @Parameter(description = "Longitude of the centre", required = true) @RequestParam double lng,
+            @Parameter(description = "Radius in meters, capped by the server")
+            @RequestParam(defaultValue = "500") double radius,
+            @Parameter(description = "Only places of this type (e.g. 'restaurant')")
+            @RequestParam(required = false) String type) {
+        Coordinates.requireValid(lat, lng);
+        return placeService.getNearbyPlaces(lat, lng, radius, type);
+    }
+
+    @Operation(summary = "Get many places by ID",
+            description = "Unknown places are fetched from Google in parallel, within a deadline")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Places found, in request order, and an error for every other ID",
+                    content = @Content(schema = @Schema(implementation = PlaceBulkDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Too many IDs", content = @Content)
+    })
+    @PostMapping("/bulk")
+    public PlaceBulkDTO getPlaces(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Google place IDs",
+                    required = true,
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))
+            )
+            @RequestBody List<String> placeIds) {
+        return placeService.getPlacesByIds(placeIds);
+    }
+
     @Operation(summary = "Get a place by ID")
     @ApiResponses({
             @ApiResponse(
@@ -53,13 +143,30 @@ public class PlaceController {
                     description = "Place found",
                     content = @Content(schema = @Schema(implementation = PlaceDTO.class))
             ),
+            @ApiResponse(responseCode = "304", description = "Place not modified", content = @Content),
             @ApiResponse(responseCode = "404", description = "Place not found", content = @Content)
     })
     @GetMapping("/{placeId}")
-    public PlaceDTO getPlace(
+    public ResponseEntity<PlaceDTO> getPlace(
             @Parameter(description = "ID of the place", required = true)
-            @PathVariable String placeId) {
-        return placeService.getPlaceById(placeId);
+            @PathVariable String placeId,
+            WebRequest webRequest) {
+        PlaceDTO place = placeService.getPlaceById(placeId);
+        String eTag = eTagOf(place);
+        long lastModified = place.lastModified() != null ? place.lastModified().toEpochMilli() : -1;
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache());
+        if (place.lastModified() != null) {
+            response.lastModified(place.lastModified());
+        }
+        return response.body(place);
     }
 
     @Operation(summary = "Create a new place")
@@ -81,4 +188,40 @@ public class PlaceController {
             @RequestBody PlaceCreateDTO placeCreateDTO) {
         return placeService.createAndGetPlaceDTO(placeCreateDTO);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Create many places at once",
+            description = "Places that already exist are skipped, every item gets its own result")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "One result per submitted place, in request order",
+                    content = @Content(
+                            array = @ArraySchema(schema = @Schema(implementation = PlaceBatchResultDTO.class))
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid request body", content = @Content)
+    })
+    @PostMapping("/batch")
+    public List<PlaceBatchResultDTO> createPlaces(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Places to create",
+                    required = true,
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PlaceCreateDTO.class)))
+            )
+            @RequestBody List<PlaceCreateDTO> places) {
+        return placeService.createPlaces(places);
+    }
+
+    // Hashes the fields the client sees, so the tag changes exactly when the response body does.
+    private static String eTagOf(PlaceDTO place) {
+        String content = String.join("\n",
+                place.placeId(),
+                String.valueOf(place.name()),
+                String.valueOf(place.rating()),
+                String.valueOf(place.priceLevel()),
+                String.valueOf(place.openingHours()),
+                String.valueOf(place.photos()),
+                place.location() != null ? place.location().latitude() + "," + place.location().longitude() : "");
+        return "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -3,6 +3,7 @@ package com.travello.locationservice.controller;
 import com.travello.locationservice.dto.Location;
 import com.travello.locationservice.dto.LocationDTO;
 import com.travello.locationservice.dto.RecommendationDTO;
+import com.travello.locationservice.dto.RecommendationsDTO;
 import com.travello.locationservice.service.RecommendationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,6 +13,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,6 +23,9 @@ import java.util.List;
 @RequestMapping("location/recommendations")
 public class RecommendationController {
 
+    // Set on fallback responses served while Google Places is unavailable.
+    public static final String STALE_HEADER = "X-Stale";
+
     private final RecommendationService recommendationService;
 
     public RecommendationController(RecommendationService recommendationService) {
@@ -31,20 +36,28 @@ public class RecommendationController {
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of recommendations",
+                    description = "List of recommendations, with X-Stale: true if served from stored data while Google is unavailable",
                     content = @Content(
                             array = @ArraySchema(schema = @Schema(implementation = RecommendationDTO.class))
                     )
             ),
             @ApiResponse(responseCode = "400", description = "Missing or invalid parameters", content = @Content),
-            @ApiResponse(responseCode = "404", description = "No recommendations found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "No recommendations found", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Google Places is unavailable and nothing is stored for the area", content = @Content)
     })
     @GetMapping("/")
-    public List<RecommendationDTO> getRecommendations(
+    public ResponseEntity<List<RecommendationDTO>> getRecommendations(
             @Parameter(description = "Location coordinates", required = true)
             @ModelAttribute LocationDTO location,
             @Parameter(description = "Type of place (e.g. 'restaurant', 'museum')", required = true, example = "restaurant")
-            @RequestParam String type) {
-        return recommendationService.getRecommendations(location, type);
+            @RequestParam String type,
+            @Parameter(description = "Resolve the top recommendations in the background")
+            @RequestParam(defaultValue = "false") boolean prefetch) {
+        RecommendationsDTO recommendations = recommendationService.getRecommendations(location, type, prefetch);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (recommendations.stale()) {
+            response.header(STALE_HEADER, "true");
+        }
+        return response.body(recommendations.recommendations());
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.travello.locationservice.dto;
+
+public record NearbyPlaceDTO(String placeId,
+                             String name,
+                             double rating,
+                             int priceLevel,
+                             Location location,
+                             double distanceMeters) {
+}
@@ -0,0 +1,18 @@
+package com.travello.locationservice.dto;
+
+public record PlaceBatchResultDTO(String placeId, Status status, String error) {
+
+    public enum Status { CREATED, EXISTS, FAILED }
+
+    public static PlaceBatchResultDTO created(String placeId) {
+        return new PlaceBatchResultDTO(placeId, Status.CREATED, null);
+    }
+
+    public static PlaceBatchResultDTO exists(String placeId) {
+        return new PlaceBatchResultDTO(placeId, Status.EXISTS, null);
+    }
+
+    public static PlaceBatchResultDTO failed(String placeId, String error) {
+        return new PlaceBatchResultDTO(placeId, Status.FAILED, error);
+    }
+}
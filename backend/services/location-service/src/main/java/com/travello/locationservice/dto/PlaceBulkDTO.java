@@ -0,0 +1,7 @@
+package com.travello.locationservice.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record PlaceBulkDTO(List<PlaceDTO> places, Map<String, String> errors) {
+}
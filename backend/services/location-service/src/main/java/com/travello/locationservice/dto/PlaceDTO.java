@@ -1,5 +1,8 @@
 package com.travello.locationservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -9,5 +12,7 @@ public record PlaceDTO(String placeId,
                        int priceLevel,
                        List<String> openingHours,
                        List<UUID> photos,
-                       Location location) {
+                       Location location,
+                       @JsonIgnore Instant lastModified,
+                       @JsonIgnore Instant fetchedAt) {
 }
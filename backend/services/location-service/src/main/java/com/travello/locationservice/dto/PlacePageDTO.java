@@ -0,0 +1,6 @@
+package com.travello.locationservice.dto;
+
+import java.util.List;
+
+public record PlacePageDTO(List<PlaceDTO> places, String nextCursor) {
+}
@@ -0,0 +1,9 @@
+package com.travello.locationservice.dto;
+
+import java.util.List;
+
+/**
+ * Recommendations and whether they are a stale fallback served while Google is unavailable.
+ */
+public record RecommendationsDTO(List<RecommendationDTO> recommendations, boolean stale) {
+}
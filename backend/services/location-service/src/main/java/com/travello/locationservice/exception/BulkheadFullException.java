@@ -0,0 +1,7 @@
+package com.travello.locationservice.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String name) {
+        super("Too many concurrent calls to " + name);
+    }
+}
@@ -0,0 +1,17 @@
+package com.travello.locationservice.exception;
+
+import java.time.Duration;
+
+public class CircuitOpenException extends GooglePlacesUnavailableException {
+
+    private final Duration retryAfter;
+
+    public CircuitOpenException(String name, Duration retryAfter) {
+        super("Circuit breaker " + name + " is open");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
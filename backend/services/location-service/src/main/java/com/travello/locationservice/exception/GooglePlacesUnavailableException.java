@@ -0,0 +1,11 @@
+package com.travello.locationservice.exception;
+
+public class GooglePlacesUnavailableException extends RuntimeException {
+    public GooglePlacesUnavailableException(String message) {
+        super(message);
+    }
+
+    public GooglePlacesUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
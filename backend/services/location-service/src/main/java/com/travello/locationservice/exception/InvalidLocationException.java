@@ -0,0 +1,7 @@
+package com.travello.locationservice.exception;
+
+public class InvalidLocationException extends RuntimeException {
+    public InvalidLocationException(String message) {
+        super(message);
+    }
+}
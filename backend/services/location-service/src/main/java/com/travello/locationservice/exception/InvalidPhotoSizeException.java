@@ -0,0 +1,7 @@
+package com.travello.locationservice.exception;
+
+public class InvalidPhotoSizeException extends RuntimeException {
+    public InvalidPhotoSizeException(String message) {
+        super(message);
+    }
+}
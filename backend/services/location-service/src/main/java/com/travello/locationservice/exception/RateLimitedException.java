@@ -0,0 +1,7 @@
+package com.travello.locationservice.exception;
+
+public class RateLimitedException extends RuntimeException {
+    public RateLimitedException(String name) {
+        super("Rate limit of " + name + " exceeded");
+    }
+}
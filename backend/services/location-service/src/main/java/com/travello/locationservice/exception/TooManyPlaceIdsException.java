@@ -0,0 +1,7 @@
+package com.travello.locationservice.exception;
+
+public class TooManyPlaceIdsException extends RuntimeException {
+    public TooManyPlaceIdsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.travello.locationservice.geo;
+
+import com.travello.locationservice.exception.InvalidLocationException;
+
+public final class Coordinates {
+
+    private Coordinates() {
+    }
+
+    /**
+     * Rejects NaN, infinite and out-of-range coordinates; grid cells computed from them would
+     * overflow and make a lookup loop forever.
+     */
+    public static void requireValid(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new InvalidLocationException("Invalid location: " + latitude + ", " + longitude);
+        }
+    }
+}
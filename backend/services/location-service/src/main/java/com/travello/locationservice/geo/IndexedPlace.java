@@ -0,0 +1,12 @@
+package com.travello.locationservice.geo;
+
+import java.util.Set;
+
+public record IndexedPlace(String placeId,
+                           String name,
+                           double latitude,
+                           double longitude,
+                           double rating,
+                           int priceLevel,
+                           Set<String> types) {
+}
@@ -0,0 +1,165 @@
+package com.travello.locationservice.geo;
+
+import com.travello.locationservice.model.Place;
+import com.travello.locationservice.model.PlaceType;
+import com.travello.locationservice.repository.PlaceLocationRow;
+import com.travello.locationservice.repository.PlaceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Grid of fixed-size latitude/longitude cells holding every stored place. It is loaded from the
+ * database on startup and kept up to date by {@link #add(Place)}, so nearby lookups never touch
+ * the database. Cells are not wrapped around the antimeridian.
+ */
+@Component
+public class PlaceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceIndex.class);
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    private final Map<Long, Map<String, IndexedPlace>> cells = new ConcurrentHashMap<>();
+    // Cell each place currently sits in, so a place that moved can be taken out of its old cell.
+    private final Map<String, Long> cellKeysByPlaceId = new ConcurrentHashMap<>();
+    private final PlaceRepository placeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double cellDegrees;
+
+    public PlaceIndex(PlaceRepository placeRepository,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${place.index.cell.degrees}") double cellDegrees) {
+        this.placeRepository = placeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cellDegrees = cellDegrees;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<PlaceLocationRow> rows = placeRepository.streamLocations()) {
+                // Rows come ordered by place, one per place type.
+                List<PlaceLocationRow> group = new ArrayList<>();
+                for (PlaceLocationRow row : (Iterable<PlaceLocationRow>) rows::iterator) {
+                    if (!group.isEmpty() && !group.getFirst().getPlaceId().equals(row.getPlaceId())) {
+                        add(toIndexedPlace(group));
+                        group.clear();
+                    }
+                    group.add(row);
+                }
+                if (!group.isEmpty()) {
+                    add(toIndexedPlace(group));
+                }
+            }
+        });
+        log.info("Indexed {} places in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void add(Place place) {
+        Set<String> types = place.getPlaceTypes() == null ? Set.of() : place.getPlaceTypes().stream()
+                .map(PlaceType::getPlaceType)
+                .collect(Collectors.toUnmodifiableSet());
+        add(new IndexedPlace(place.getPlaceId(), place.getName(), place.getLatitude(), place.getLongitude(),
+                place.getRating(), place.getPriceLevel(), types));
+    }
+
+    public void add(IndexedPlace place) {
+        long cellKey = cellKey(row(place.latitude()), column(place.longitude()));
+        // compute() serializes updates of one place; the new entry is in place before the old one goes.
+        cellKeysByPlaceId.compute(place.placeId(), (placeId, previousCellKey) -> {
+            cells.computeIfAbsent(cellKey, key -> new ConcurrentHashMap<>()).put(placeId, place);
+            if (previousCellKey != null && previousCellKey != cellKey) {
+                Map<String, IndexedPlace> previousCell = cells.get(previousCellKey);
+                if (previousCell != null) {
+                    previousCell.remove(placeId);
+                }
+            }
+            return cellKey;
+        });
+    }
+
+    /**
+     * Places within {@code radiusMeters} of the given point, closest first. A {@code null} type
+     * matches every place. A point that is not a valid latitude/longitude is rejected.
+     */
+    public List<Nearby> nearby(double latitude, double longitude, double radiusMeters, String type) {
+        Coordinates.requireValid(latitude, longitude);
+        double latitudeDelta = radiusMeters / METERS_PER_DEGREE;
+        double longitudeDelta = radiusMeters / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+        long minRow = row(latitude - latitudeDelta), maxRow = row(latitude + latitudeDelta);
+        long minColumn = column(longitude - longitudeDelta), maxColumn = column(longitude + longitudeDelta);
+
+        List<Nearby> result = new ArrayList<>();
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long column = minColumn; column <= maxColumn; column++) {
+                Map<String, IndexedPlace> cell = cells.get(cellKey(row, column));
+                if (cell == null) continue;
+                for (IndexedPlace place : cell.values()) {
+                    if (type != null && !place.types().contains(type)) continue;
+                    double distance = distanceMeters(latitude, longitude, place.latitude(), place.longitude());
+                    if (distance <= radiusMeters) {
+                        result.add(new Nearby(place, distance));
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(Nearby::distanceMeters));
+        return result;
+    }
+
+    public int size() {
+        return cellKeysByPlaceId.size();
+    }
+
+    private IndexedPlace toIndexedPlace(List<PlaceLocationRow> rows) {
+        PlaceLocationRow first = rows.getFirst();
+        Set<String> types = new HashSet<>();
+        for (PlaceLocationRow row : rows) {
+            if (row.getPlaceType() != null) {
+                types.add(row.getPlaceType());
+            }
+        }
+        return new IndexedPlace(first.getPlaceId(), first.getName(), first.getLatitude(), first.getLongitude(),
+                first.getRating(), first.getPriceLevel(), Set.copyOf(types));
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude / cellDegrees);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long cellKey(long row, long column) {
+        return (row << 32) ^ (column & 0xffffffffL);
+    }
+
+    static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+
+    public record Nearby(IndexedPlace place, double distanceMeters) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.travello.locationservice.google;
+
+public enum GoogleOperation {
+    DETAILS("details"),
+    PHOTOS("photos"),
+    NEARBY("nearby");
+
+    private final String key;
+
+    GoogleOperation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
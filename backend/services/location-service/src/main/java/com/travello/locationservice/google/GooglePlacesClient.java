@@ -0,0 +1,164 @@
+package com.travello.locationservice.google;
+
+import com.travello.locationservice.dto.DetailedPlaceDTO;
+import com.travello.locationservice.dto.Location;
+import com.travello.locationservice.dto.RecommendationResultDTO;
+import com.travello.locationservice.util.Bulkhead;
+import com.travello.locationservice.util.CircuitBreaker;
+import com.travello.locationservice.util.PriorityRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * All outbound calls to the Google Places API. Every operation has its own read timeout
+ * and bulkhead, configured with {@code google.client.<operation>.*} properties. All operations
+ * share one rate limiter sized to the project quota; callers wait for it by {@link GooglePriority}.
+ * A circuit breaker per operation fails calls fast while Google keeps timing out or erroring.
+ * {@code google.places.base.url} can point at the local stub in {@code backend/tools} for load tests.
+ */
+@Component
+public class GooglePlacesClient {
+
+    private static final String DETAILS_FIELD_MASK =
+            "id,displayName,rating,priceLevel,currentOpeningHours.weekdayDescriptions,types,location,photos.name";
+    private static final String NEARBY_FIELD_MASK =
+            "places.id,places.displayName,places.rating,places.priceLevel";
+
+    private final Map<GoogleOperation, RestTemplate> restTemplates = new EnumMap<>(GoogleOperation.class);
+    private final Map<GoogleOperation, Bulkhead> bulkheads = new EnumMap<>(GoogleOperation.class);
+    private final Map<GoogleOperation, CircuitBreaker> circuitBreakers = new EnumMap<>(GoogleOperation.class);
+    private final Map<GooglePriority, Duration> maxRateLimitWaits = new EnumMap<>(GooglePriority.class);
+    private final PriorityRateLimiter<GooglePriority> rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String googleMapsApiKey;
+    private final int photoMaxWidthPx;
+
+    public GooglePlacesClient(HttpClient googleHttpClient,
+                              ObjectMapper objectMapper,
+                              ObservationRegistry observationRegistry,
+                              MeterRegistry meterRegistry,
+                              Environment environment,
+                              @Value("${google.places.base.url}") String baseUrl,
+                              @Value("${google.maps.api.key}") String googleMapsApiKey) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.googleMapsApiKey = googleMapsApiKey;
+        this.photoMaxWidthPx = environment.getRequiredProperty("google.client.photos.max.width.px", Integer.class);
+        Duration maxWait = Duration.ofMillis(
+                environment.getRequiredProperty("google.client.bulkhead.max.wait.ms", Long.class));
+        this.rateLimiter = new PriorityRateLimiter<>("google", GooglePriority.class,
+                environment.getRequiredProperty("google.client.ratelimit.permits.per.second", Double.class),
+                environment.getRequiredProperty("google.client.ratelimit.burst", Integer.class),
+                environment.getRequiredProperty("google.client.ratelimit.max.queued", Integer.class),
+                meterRegistry);
+        for (GooglePriority priority : GooglePriority.values()) {
+            maxRateLimitWaits.put(priority, Duration.ofMillis(environment.getRequiredProperty(
+                    "google.client.ratelimit.max.wait.ms." + priority.key(), Long.class)));
+        }
+        int failureThreshold = environment.getRequiredProperty("google.client.circuit.failure.threshold", Integer.class);
+        Duration openDuration = Duration.ofMillis(environment.getRequiredProperty("google.client.circuit.open.ms", Long.class));
+        for (GoogleOperation operation : GoogleOperation.values()) {
+            String prefix = "google.client." + operation.key();
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(googleHttpClient);
+            requestFactory.setReadTimeout(Duration.ofMillis(
+                    environment.getRequiredProperty(prefix + ".timeout.ms", Long.class)));
+            RestTemplate restTemplate = new RestTemplate(requestFactory);
+            restTemplate.setObservationRegistry(observationRegistry);
+            restTemplates.put(operation, restTemplate);
+            bulkheads.put(operation, new Bulkhead("google." + operation.key(),
+                    environment.getRequiredProperty(prefix + ".max.concurrent", Integer.class),
+                    maxWait, meterRegistry));
+            circuitBreakers.put(operation, new CircuitBreaker("google." + operation.key(),
+                    failureThreshold, openDuration, GooglePlacesClient::isGoogleFailure, meterRegistry));
+        }
+    }
+
+    public DetailedPlaceDTO getPlaceDetails(String placeId, GooglePriority priority) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Goog-Api-Key", googleMapsApiKey);
+        headers.set("X-Goog-FieldMask", DETAILS_FIELD_MASK);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+
+        return execute(GoogleOperation.DETAILS, priority, () -> restTemplates.get(GoogleOperation.DETAILS)
+                .exchange(baseUrl + "/places/{placeId}", HttpMethod.GET, entity, DetailedPlaceDTO.class, placeId)
+                .getBody());
+    }
+
+    public <T> T downloadPhoto(String placeId, String photoReference, ResponseExtractor<T> extractor,
+                               GooglePriority priority) {
+        return execute(GoogleOperation.PHOTOS, priority, () -> restTemplates.get(GoogleOperation.PHOTOS)
+                .execute(baseUrl + "/places/{placeId}/photos/{photoReference}/media?maxWidthPx={maxWidthPx}",
+                        HttpMethod.GET,
+                        request -> request.getHeaders().set("X-Goog-Api-Key", googleMapsApiKey),
+                        extractor,
+                        placeId, photoReference, photoMaxWidthPx));
+    }
+
+    public RecommendationResultDTO searchNearby(Location center, String type, double radius, int maxResultCount,
+                                                GooglePriority priority) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Goog-Api-Key", googleMapsApiKey);
+        headers.set("X-Goog-FieldMask", NEARBY_FIELD_MASK);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("includedTypes", List.of(type));
+        requestBody.put("maxResultCount", maxResultCount);
+
+        Map<String, Object> locationRestriction = new HashMap<>();
+        Map<String, Object> circle = new HashMap<>();
+        Map<String, Double> centerPoint = new HashMap<>();
+        centerPoint.put("latitude", center.latitude());
+        centerPoint.put("longitude", center.longitude());
+        circle.put("center", centerPoint);
+        circle.put("radius", radius);
+        locationRestriction.put("circle", circle);
+        requestBody.put("locationRestriction", locationRestriction);
+
+        HttpEntity<String> entity = new HttpEntity<>(objectMapper.writeValueAsString(requestBody), headers);
+
+        return execute(GoogleOperation.NEARBY, priority, () -> restTemplates.get(GoogleOperation.NEARBY)
+                .exchange(baseUrl + "/places:searchNearby", HttpMethod.POST, entity, RecommendationResultDTO.class)
+                .getBody());
+    }
+
+    // An open circuit fails before queueing for quota, and queued calls do not hold bulkhead permits.
+    private <T> T execute(GoogleOperation operation, GooglePriority priority, Supplier<T> call) {
+        return circuitBreakers.get(operation).execute(() -> {
+            rateLimiter.acquire(priority, maxRateLimitWaits.get(priority));
+            return bulkheads.get(operation).execute(call);
+        });
+    }
+
+    // Timeouts, connection errors, 5xx and 429 mean Google is struggling; other 4xx are our requests.
+    private static boolean isGoogleFailure(RuntimeException e) {
+        if (e instanceof HttpClientErrorException clientError) {
+            return clientError.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return e instanceof RestClientException;
+    }
+}
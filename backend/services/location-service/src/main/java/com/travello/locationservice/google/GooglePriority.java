@@ -0,0 +1,21 @@
+package com.travello.locationservice.google;
+
+/**
+ * Who is waiting for a Google call, most urgent first. Interactive calls serve a user request,
+ * prefetch and refresh calls only warm the database.
+ */
+public enum GooglePriority {
+    INTERACTIVE("interactive"),
+    PREFETCH("prefetch"),
+    REFRESH("refresh");
+
+    private final String key;
+
+    GooglePriority(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -21,7 +22,8 @@ import java.util.UUID;
 public class Photo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "photo_seq")
+    @SequenceGenerator(name = "photo_seq", sequenceName = "photo_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -31,8 +33,20 @@ public class Photo {
     @JoinColumn(nullable = false, name = "place_id")
     private Place place;
 
-    @Column(nullable = false)
-    private byte[] photo;
+    // Google photo reference, used to download the image on its first read.
+    @Column(length = 1024)
+    private String reference;
+
+    // Content lives in the PhotoStore, the row only describes it.
+    private Long size;
+
+    private String contentType;
+
+    @Column(length = 64)
+    private String checksum;
+
+    // Set once ImageIO failed to decode the original; sized reads then serve the original as is.
+    private Boolean variantsUnavailable;
 
     @PrePersist
     public void generateUUID() {
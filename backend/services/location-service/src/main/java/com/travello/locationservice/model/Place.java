@@ -8,7 +8,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.Type;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 
@@ -21,7 +23,9 @@ import java.util.Set;
 public class Place {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts, IdSequenceAlignment keeps it ahead of old rows.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "places_seq")
+    @SequenceGenerator(name = "places_seq", sequenceName = "places_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -30,7 +34,8 @@ public class Place {
     @Column(nullable = false)
     private String name;
 
-    @ManyToMany(cascade = CascadeType.PERSIST)
+    // Types are created by PlaceTypeDictionary, a place only references them.
+    @ManyToMany
     @JoinTable(
             name = "place_place_type",
             joinColumns = @JoinColumn(name = "place_id"),
@@ -50,4 +55,10 @@ public class Place {
 
     private double latitude;
     private double longitude;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    // When the details were last taken from Google, null for rows written before this was tracked.
+    private Instant fetchedAt;
 }
@@ -2,13 +2,23 @@ package com.travello.locationservice.repository;
 
 import com.travello.locationservice.model.Photo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PhotoRepository extends JpaRepository<Photo, Long> {
     Optional<Photo> findByPhotoId(UUID photoId);
+
+    @Query("select p.place.id as placeId, p.photoId as photoId from Photo p where p.place.id in :placeIds order by p.id")
+    List<PlacePhotoId> findPhotoIdsByPlaceIds(@Param("placeIds") Collection<Long> placeIds);
+
+    @Query("select p from Photo p join fetch p.place where p.place.id = :placeId and p.size is null order by p.id")
+    List<Photo> findByPlaceIdAndSizeIsNull(@Param("placeId") Long placeId);
 }
 
@@ -0,0 +1,17 @@
+package com.travello.locationservice.repository;
+
+public interface PlaceLocationRow {
+    String getPlaceId();
+
+    String getName();
+
+    double getLatitude();
+
+    double getLongitude();
+
+    double getRating();
+
+    int getPriceLevel();
+
+    String getPlaceType();
+}
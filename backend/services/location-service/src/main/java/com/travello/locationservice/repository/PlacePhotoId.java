@@ -0,0 +1,9 @@
+package com.travello.locationservice.repository;
+
+import java.util.UUID;
+
+public interface PlacePhotoId {
+    Long getPlaceId();
+
+    UUID getPhotoId();
+}
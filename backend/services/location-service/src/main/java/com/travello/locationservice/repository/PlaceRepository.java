@@ -2,12 +2,43 @@ package com.travello.locationservice.repository;
 
 
 import com.travello.locationservice.model.Place;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface PlaceRepository extends JpaRepository<Place, Long> {
     Optional<Place> findByPlaceId(String id);
+
+    List<Place> findByPlaceIdIn(Collection<String> placeIds);
+
+    @Query("select p from Place p where p.id > :after order by p.id")
+    List<Place> findPageAfter(@Param("after") long after, Limit limit);
+
+    @Query("select p from Place p order by p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Place> streamAll();
+
+    @Query("select p.placeId as placeId, p.name as name, p.latitude as latitude, p.longitude as longitude, "
+            + "p.rating as rating, p.priceLevel as priceLevel, t.placeType as placeType "
+            + "from Place p left join p.placeTypes t order by p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<PlaceLocationRow> streamLocations();
+
+    @Query("select p.placeId from Place p where p.placeId in :placeIds")
+    Set<String> findExistingPlaceIds(@Param("placeIds") Collection<String> placeIds);
 }
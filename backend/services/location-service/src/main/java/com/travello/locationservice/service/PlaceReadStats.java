@@ -0,0 +1,74 @@
+package com.travello.locationservice.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read counts of places since the last {@link #decay()}, together with when each place was
+ * fetched and when a refresh last failed, so the refresh job can pick popular places that are
+ * about to go stale and places Google would not refresh are not asked for again right away.
+ */
+@Component
+public class PlaceReadStats {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public void recordRead(String placeId, Instant fetchedAt) {
+        Entry entry = entries.computeIfAbsent(placeId, id -> new Entry());
+        entry.reads.incrementAndGet();
+        entry.fetchedAt = fetchedAt;
+    }
+
+    public void recordFetch(String placeId, Instant fetchedAt) {
+        Entry entry = entries.get(placeId);
+        if (entry != null) {
+            entry.fetchedAt = fetchedAt;
+            entry.failedRefreshAt = null;
+        }
+    }
+
+    public void recordFailedRefresh(String placeId, Instant attemptedAt) {
+        entries.computeIfAbsent(placeId, id -> new Entry()).failedRefreshAt = attemptedAt;
+    }
+
+    public boolean refreshFailedSince(String placeId, Instant since) {
+        Entry entry = entries.get(placeId);
+        return entry != null && entry.refreshFailedAfter(since);
+    }
+
+    /**
+     * The most read places fetched before {@code cutoff}, most read first, leaving out places
+     * whose refresh failed after {@code failedAfter}.
+     */
+    public List<String> mostReadFetchedBefore(Instant cutoff, Instant failedAfter, int limit) {
+        return entries.entrySet().stream()
+                .filter(e -> e.getValue().fetchedAt == null || e.getValue().fetchedAt.isBefore(cutoff))
+                .filter(e -> !e.getValue().refreshFailedAfter(failedAfter))
+                .sorted(Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().reads.get()).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** Halves every count so old popularity fades, and forgets places no longer read. */
+    public void decay() {
+        entries.entrySet().removeIf(e -> e.getValue().reads.updateAndGet(reads -> reads / 2) == 0);
+    }
+
+    private static final class Entry {
+        private final AtomicLong reads = new AtomicLong();
+        private volatile Instant fetchedAt;
+        private volatile Instant failedRefreshAt;
+
+        private boolean refreshFailedAfter(Instant since) {
+            Instant failed = failedRefreshAt;
+            return failed != null && failed.isAfter(since);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.travello.locationservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Google detail calls allowed for refreshes, {@code place.refresh.budget} per
+ * {@code place.refresh.interval.ms}. Shared by the refresh job and by refreshes started when a
+ * stale place is read, so neither can spend more than the budget.
+ */
+@Component
+public class PlaceRefreshBudget {
+
+    private final int budget;
+    private final long windowNanos;
+    private final LongSupplier nanoTime;
+    private long windowStart;
+    private int spent;
+
+    @Autowired
+    public PlaceRefreshBudget(@Value("${place.refresh.budget}") int budget,
+                              @Value("${place.refresh.interval.ms}") long intervalMs) {
+        this(budget, intervalMs, System::nanoTime);
+    }
+
+    PlaceRefreshBudget(int budget, long intervalMs, LongSupplier nanoTime) {
+        this.budget = budget;
+        this.windowNanos = intervalMs * 1_000_000;
+        this.nanoTime = nanoTime;
+        this.windowStart = nanoTime.getAsLong();
+    }
+
+    public synchronized boolean tryAcquire() {
+        renew();
+        if (spent >= budget) {
+            return false;
+        }
+        spent++;
+        return true;
+    }
+
+    public synchronized int available() {
+        renew();
+        return budget - spent;
+    }
+
+    private void renew() {
+        long now = nanoTime.getAsLong();
+        if (now - windowStart >= windowNanos) {
+            windowStart = now;
+            spent = 0;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.travello.locationservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Re-fetches the most read places before their soft TTL runs out, so popular places are
+ * rarely served stale. Google calls are charged to the {@link PlaceRefreshBudget} it shares with
+ * refreshes started on read.
+ */
+@Component
+public class PlaceRefreshJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceRefreshJob.class);
+
+    private final PlaceService placeService;
+    private final PlaceReadStats placeReadStats;
+    private final PlaceRefreshBudget refreshBudget;
+    private final Duration softTtl;
+    private final Duration lookahead;
+    private final Duration retryBackoff;
+
+    public PlaceRefreshJob(PlaceService placeService,
+                           PlaceReadStats placeReadStats,
+                           PlaceRefreshBudget refreshBudget,
+                           @Value("${place.refresh.soft.ttl.ms}") long softTtlMs,
+                           @Value("${place.refresh.lookahead.ms}") long lookaheadMs,
+                           @Value("${place.refresh.retry.backoff.ms}") long retryBackoffMs) {
+        this.placeService = placeService;
+        this.placeReadStats = placeReadStats;
+        this.refreshBudget = refreshBudget;
+        this.softTtl = Duration.ofMillis(softTtlMs);
+        this.lookahead = Duration.ofMillis(lookaheadMs);
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+    }
+
+    @Scheduled(fixedDelayString = "${place.refresh.interval.ms}", initialDelayString = "${place.refresh.interval.ms}")
+    public void refreshMostRead() {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(softTtl).plus(lookahead);
+        List<String> placeIds = placeReadStats.mostReadFetchedBefore(cutoff, now.minus(retryBackoff),
+                refreshBudget.available());
+        int refreshed = 0;
+        for (String placeId : placeIds) {
+            if (!refreshBudget.tryAcquire()) break;
+            if (placeService.refreshPlace(placeId)) {
+                refreshed++;
+            }
+        }
+        placeReadStats.decay();
+        if (!placeIds.isEmpty()) {
+            log.info("Refreshed {} of {} popular places due for refresh", refreshed, placeIds.size());
+        }
+    }
+}
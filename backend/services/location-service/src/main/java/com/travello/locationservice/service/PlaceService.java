@@ -1,147 +1,621 @@
 package com.travello.locationservice.service;
 
+import com.travello.locationservice.cache.PlaceCache;
 import com.travello.locationservice.dto.*;
+import com.travello.locationservice.exception.BulkheadFullException;
+import com.travello.locationservice.exception.GooglePlacesUnavailableException;
+import com.travello.locationservice.exception.InvalidCursorException;
+import com.travello.locationservice.exception.RateLimitedException;
+import com.travello.locationservice.exception.TooManyPlaceIdsException;
+import com.travello.locationservice.geo.PlaceIndex;
+import com.travello.locationservice.google.GooglePlacesClient;
+import com.travello.locationservice.google.GooglePriority;
 import com.travello.locationservice.model.Photo;
 import com.travello.locationservice.model.Place;
 import com.travello.locationservice.model.PlaceType;
 import com.travello.locationservice.repository.PhotoRepository;
 import com.travello.locationservice.repository.PlaceRepository;
-import com.travello.locationservice.repository.PlaceTypeRepository;
+import com.travello.locationservice.repository.PlacePhotoId;
+import com.travello.locationservice.storage.PhotoContent;
+import com.travello.locationservice.storage.PhotoSize;
+import com.travello.locationservice.storage.PhotoStore;
+import com.travello.locationservice.storage.PhotoVariants;
+import com.travello.locationservice.util.SingleFlight;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PlaceService {
 
+    private static final int STREAM_BATCH_ROWS = 100;
+    private static final int PHOTO_ID_BATCH = 1000;
+
     private final PlaceRepository placeRepository;
-    private final PlaceTypeRepository placeTypeRepository;
+    private final PlaceTypeDictionary placeTypeDictionary;
     private final PhotoRepository photoRepository;
-    private final RestTemplate restTemplate;
+    private final GooglePlacesClient googlePlacesClient;
+    private final PlaceCache placeCache;
+    private final PlaceIndex placeIndex;
+    private final PhotoStore photoStore;
+    private final PhotoVariants photoVariants;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService placeResolutionExecutor;
+    private final ExecutorService placeRefreshExecutor;
+    private final PlaceReadStats placeReadStats;
+    private final PlaceRefreshBudget refreshBudget;
+    private final Set<String> refreshesInFlight = ConcurrentHashMap.newKeySet();
+    private final ExecutorService placePrefetchExecutor;
+    private final Set<String> prefetchesQueued = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+    private final SingleFlight<String, Place> placeResolutions = new SingleFlight<>();
+    private final SingleFlight<UUID, Photo> photoHydrations = new SingleFlight<>();
+    private final SingleFlight<UUID, Boolean> photoVariantGenerations = new SingleFlight<>();
+
+    @Value("${photo.max.per.place}")
+    private int maxPhotos;
+
+    @Value("${place.page.max.size}")
+    private int maxPageSize;
+
+    @Value("${place.batch.chunk.size}")
+    private int batchChunkSize;
+
+    @Value("${place.refresh.soft.ttl.ms}")
+    private long softTtlMs;
+
+    @Value("${place.refresh.retry.backoff.ms}")
+    private long refreshRetryBackoffMs;
+
+    @Value("${place.bulk.max.ids}")
+    private int maxBulkIds;
+
+    @Value("${place.bulk.deadline.ms}")
+    private long bulkDeadlineMs;
 
-    @Value("${google.maps.api.key}")
-    private String googleMapsApiKey;
+    @Value("${place.nearby.max.radius.m}")
+    private double maxNearbyRadius;
+
+    @Value("${place.nearby.max.results}")
+    private int maxNearbyResults;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     private static final Logger log = LoggerFactory.getLogger(PlaceService.class);
 
     public PlaceService(PlaceRepository placeRepository,
-                        PlaceTypeRepository placeTypeRepository,
+                        PlaceTypeDictionary placeTypeDictionary,
                         PhotoRepository photoRepository,
-                        RestTemplate restTemplate) {
+                        GooglePlacesClient googlePlacesClient,
+                        PlaceCache placeCache,
+                        PlaceIndex placeIndex,
+                        PhotoStore photoStore,
+                        PhotoVariants photoVariants,
+                        TransactionTemplate transactionTemplate,
+                        @Qualifier("placeResolutionExecutor") ExecutorService placeResolutionExecutor,
+                        @Qualifier("placeRefreshExecutor") ExecutorService placeRefreshExecutor,
+                        @Qualifier("placePrefetchExecutor") ExecutorService placePrefetchExecutor,
+                        PlaceReadStats placeReadStats,
+                        PlaceRefreshBudget refreshBudget,
+                        ObjectMapper objectMapper) {
         this.placeRepository = placeRepository;
-        this.placeTypeRepository = placeTypeRepository;
+        this.placeTypeDictionary = placeTypeDictionary;
         this.photoRepository = photoRepository;
-        this.restTemplate = restTemplate;
+        this.googlePlacesClient = googlePlacesClient;
+        this.placeCache = placeCache;
+        this.placeIndex = placeIndex;
+        this.photoStore = photoStore;
+        this.photoVariants = photoVariants;
+        this.transactionTemplate = transactionTemplate;
+        this.placeResolutionExecutor = placeResolutionExecutor;
+        this.placeRefreshExecutor = placeRefreshExecutor;
+        this.placePrefetchExecutor = placePrefetchExecutor;
+        this.placeReadStats = placeReadStats;
+        this.refreshBudget = refreshBudget;
+        this.objectMapper = objectMapper;
     }
 
     public List<PlaceDTO> getAllPlaces() {
-        return placeRepository.findAll().stream()
-                .map(this::toPlaceDTO)
-                .collect(Collectors.toList());
+        return toPlaceDTOs(placeRepository.findAll());
+    }
+
+    public PlacePageDTO getPlacePage(String cursor, int limit) {
+        long after = decodeCursor(cursor);
+        int pageSize = Math.clamp(limit, 1, maxPageSize);
+        List<Place> places = placeRepository.findPageAfter(after, Limit.of(pageSize));
+        String nextCursor = places.size() == pageSize
+                ? encodeCursor(places.getLast().getId())
+                : null;
+        return new PlacePageDTO(toPlaceDTOs(places), nextCursor);
+    }
+
+    public void streamAllPlaces(OutputStream out) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Place> places = placeRepository.streamAll()) {
+                List<Place> batch = new ArrayList<>(STREAM_BATCH_ROWS);
+                for (Place place : (Iterable<Place>) places::iterator) {
+                    batch.add(place);
+                    if (batch.size() == STREAM_BATCH_ROWS) {
+                        writeBatch(batch, out);
+                    }
+                }
+                writeBatch(batch, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeBatch(List<Place> batch, OutputStream out) throws IOException {
+        for (PlaceDTO place : toPlaceDTOs(batch)) {
+            out.write(objectMapper.writeValueAsBytes(place));
+            out.write('\n');
+        }
+        out.flush();
+        batch.clear();
+        // Keep the persistence context from growing with the table.
+        entityManager.clear();
+    }
+
+    private String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0;
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public List<NearbyPlaceDTO> getNearbyPlaces(double latitude, double longitude, double radius, String type) {
+        double radiusMeters = Math.clamp(radius, 1, maxNearbyRadius);
+        return placeIndex.nearby(latitude, longitude, radiusMeters, type).stream()
+                .limit(maxNearbyResults)
+                .map(nearby -> new NearbyPlaceDTO(
+                        nearby.place().placeId(),
+                        nearby.place().name(),
+                        nearby.place().rating(),
+                        nearby.place().priceLevel(),
+                        new Location(nearby.place().latitude(), nearby.place().longitude()),
+                        nearby.distanceMeters()))
+                .toList();
     }
 
     public PlaceDTO getPlaceById(String placeId) {
-        Place place = findOrCreatePlace(placeId);
-        return toPlaceDTO(place);
+        PlaceDTO place = placeCache.get(placeId);
+        if (place == null) {
+            if (placeCache.isMissing(placeId)) {
+                throw new NoSuchElementException("Place not found: " + placeId);
+            }
+            place = toPlaceDTO(findOrCreatePlace(placeId));
+            placeCache.put(placeId, place);
+        }
+        recordRead(place);
+        return place;
+    }
+
+    /**
+     * Places for the given ids in request order. Stored places are read with one query and unknown
+     * ones are fetched from Google in parallel. Ids not resolved by the deadline are reported in
+     * {@code errors} instead of failing the whole request.
+     */
+    public PlaceBulkDTO getPlacesByIds(List<String> placeIds) {
+        List<String> ids = placeIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > maxBulkIds) {
+            throw new TooManyPlaceIdsException("At most " + maxBulkIds + " places can be requested at once");
+        }
+        Map<String, PlaceDTO> found = new HashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String id : ids) {
+            PlaceDTO cached = placeCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else if (placeCache.isMissing(id)) {
+                errors.put(id, "Place not found");
+            } else {
+                uncached.add(id);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            List<Place> places = new ArrayList<>(placeRepository.findByPlaceIdIn(uncached));
+            Set<String> stored = places.stream().map(Place::getPlaceId).collect(Collectors.toSet());
+            places.addAll(resolvePlaces(uncached.stream().filter(id -> !stored.contains(id)).toList(), errors));
+            for (PlaceDTO place : toPlaceDTOs(places)) {
+                placeCache.put(place.placeId(), place);
+                found.put(place.placeId(), place);
+            }
+        }
+        List<PlaceDTO> places = ids.stream().map(found::get).filter(Objects::nonNull).toList();
+        places.forEach(this::recordRead);
+        return new PlaceBulkDTO(places, errors);
+    }
+
+    private List<Place> resolvePlaces(List<String> placeIds, Map<String, String> errors) {
+        if (placeIds.isEmpty()) return List.of();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(bulkDeadlineMs);
+        Map<String, Future<Place>> resolutions = new LinkedHashMap<>();
+        for (String id : placeIds) {
+            try {
+                resolutions.put(id, placeResolutionExecutor.submit(() -> findOrCreatePlace(id)));
+            } catch (RejectedExecutionException e) {
+                errors.put(id, "Too many place lookups in progress");
+            }
+        }
+        List<Place> places = new ArrayList<>();
+        for (Map.Entry<String, Future<Place>> resolution : resolutions.entrySet()) {
+            try {
+                places.add(resolution.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // Lookups already running are left to finish, so the place is stored for the next request.
+                resolution.getValue().cancel(false);
+                errors.put(resolution.getKey(), "Timed out");
+            } catch (ExecutionException e) {
+                errors.put(resolution.getKey(), switch (e.getCause()) {
+                    case NoSuchElementException notFound -> "Place not found";
+                    case BulkheadFullException busy -> "Google Places API is busy";
+                    case RateLimitedException limited -> "Google Places API is busy";
+                    case GooglePlacesUnavailableException unavailable -> "Google Places API is unavailable";
+                    default -> "Could not load place";
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.put(resolution.getKey(), "Interrupted");
+            }
+        }
+        return places;
+    }
+
+    /**
+     * Resolves the given places and downloads their photos in the background, so opening one of
+     * them later is served from the database. Places already cached, stored, known to be missing
+     * or being resolved are skipped, as are places that do not fit the prefetch queue.
+     */
+    public void prefetchPlaces(Collection<String> placeIds) {
+        List<String> candidates = placeIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(id -> placeCache.get(id) == null && !placeCache.isMissing(id) && !placeResolutions.isInFlight(id))
+                .toList();
+        if (candidates.isEmpty()) return;
+        Set<String> stored = placeRepository.findExistingPlaceIds(candidates);
+        for (String placeId : candidates) {
+            if (stored.contains(placeId) || !prefetchesQueued.add(placeId)) continue;
+            try {
+                placePrefetchExecutor.execute(() -> {
+                    try {
+                        prefetchPlace(placeId);
+                    } catch (RuntimeException e) {
+                        log.debug("Prefetch of place {} failed: {}", placeId, e.getMessage());
+                    } finally {
+                        prefetchesQueued.remove(placeId);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                prefetchesQueued.remove(placeId);
+            }
+        }
+    }
+
+    private void prefetchPlace(String placeId) {
+        Place place = findOrCreatePlace(placeId, GooglePriority.PREFETCH);
+        for (Photo photo : photoRepository.findByPlaceIdAndSizeIsNull(place.getId())) {
+            photoHydrations.execute(photo.getPhotoId(), () -> hydratePhoto(photo, GooglePriority.PREFETCH));
+        }
     }
 
     public PlaceDTO createAndGetPlaceDTO(PlaceCreateDTO placeCreateDTO) {
         Place newPlace = createPlace(placeCreateDTO);
-        return toPlaceDTO(newPlace);
+        PlaceDTO place = toPlaceDTO(newPlace);
+        placeCache.put(place.placeId(), place);
+        return place;
+    }
+
+    /**
+     * Creates the given places in chunks, writing each chunk in one transaction with batched inserts.
+     * Places that already exist, or appear twice in the request, are reported and skipped.
+     */
+    public List<PlaceBatchResultDTO> createPlaces(List<PlaceCreateDTO> places) {
+        Map<String, PlaceType> placeTypes = placeTypeDictionary.resolveByName(places.stream()
+                .filter(Objects::nonNull)
+                .filter(place -> place.placeTypes() != null)
+                .flatMap(place -> place.placeTypes().stream())
+                .collect(Collectors.toSet()));
+        List<PlaceBatchResultDTO> results = new ArrayList<>(places.size());
+        Set<String> submitted = new HashSet<>();
+        for (int from = 0; from < places.size(); from += batchChunkSize) {
+            List<PlaceCreateDTO> chunk = places.subList(from, Math.min(from + batchChunkSize, places.size()));
+            results.addAll(createChunk(chunk, placeTypes, submitted));
+        }
+        return results;
+    }
+
+    private List<PlaceBatchResultDTO> createChunk(List<PlaceCreateDTO> chunk,
+                                                  Map<String, PlaceType> placeTypes,
+                                                  Set<String> submitted) {
+        PlaceBatchResultDTO[] results = new PlaceBatchResultDTO[chunk.size()];
+        Set<String> existing = placeRepository.findExistingPlaceIds(chunk.stream()
+                .filter(dto -> dto != null && dto.placeId() != null)
+                .map(PlaceCreateDTO::placeId)
+                .toList());
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            PlaceCreateDTO dto = chunk.get(i);
+            if (dto == null || dto.placeId() == null || dto.placeId().isBlank() || dto.name() == null) {
+                results[i] = PlaceBatchResultDTO.failed(dto != null ? dto.placeId() : null, "placeId and name are required");
+            } else if (existing.contains(dto.placeId()) || !submitted.add(dto.placeId())) {
+                results[i] = PlaceBatchResultDTO.exists(dto.placeId());
+            } else {
+                pending.add(i);
+            }
+        }
+        if (pending.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        try {
+            List<Place> created = new ArrayList<>(pending.size());
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i : pending) {
+                    Place place = newPlace(chunk.get(i), placeTypes);
+                    entityManager.persist(place);
+                    created.add(place);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            created.forEach(placeIndex::add);
+            pending.forEach(i -> results[i] = PlaceBatchResultDTO.created(chunk.get(i).placeId()));
+        } catch (PersistenceException | DataAccessException e) {
+            // Usually a place inserted concurrently; writing them one by one tells which items failed.
+            log.warn("Batch insert of {} places failed, retrying one by one: {}", pending.size(), e.getMessage());
+            pending.forEach(i -> results[i] = createSingle(chunk.get(i), placeTypes));
+        }
+        // A place created here may still be remembered as missing from an earlier lookup.
+        pending.forEach(i -> placeCache.evict(chunk.get(i).placeId()));
+        return Arrays.asList(results);
+    }
+
+    private PlaceBatchResultDTO createSingle(PlaceCreateDTO dto, Map<String, PlaceType> placeTypes) {
+        try {
+            Place place = newPlace(dto, placeTypes);
+            transactionTemplate.executeWithoutResult(status -> entityManager.persist(place));
+            placeIndex.add(place);
+            return PlaceBatchResultDTO.created(dto.placeId());
+        } catch (PersistenceException | DataAccessException e) {
+            if (placeRepository.findByPlaceId(dto.placeId()).isPresent()) {
+                return PlaceBatchResultDTO.exists(dto.placeId());
+            }
+            return PlaceBatchResultDTO.failed(dto.placeId(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
     }
 
     private Place createPlace(PlaceCreateDTO dto) {
+        Place place = newPlace(dto, placeTypeDictionary.resolveByName(dto.placeTypes()));
+        try {
+            Place savedPlace = placeRepository.save(place);
+            placeIndex.add(savedPlace);
+            return savedPlace;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted the same placeId first, its row is as good as ours.
+            log.info("Place {} was created concurrently, using the stored one", dto.placeId());
+            return placeRepository.findByPlaceId(dto.placeId()).orElseThrow(() -> e);
+        }
+    }
+
+    private Place newPlace(PlaceCreateDTO dto, Map<String, PlaceType> placeTypes) {
         Place place = new Place();
-        Set<PlaceType> placeTypes = dto.placeTypes().stream()
-                .map(this::findOrCreatePlaceType)
-                .collect(Collectors.toSet());
         place.setPlaceId(dto.placeId());
         place.setName(dto.name());
-        place.setPlaceTypes(placeTypes);
+        place.setPlaceTypes(dto.placeTypes() == null ? new HashSet<>() : dto.placeTypes().stream()
+                .map(placeTypes::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
         place.setRating(dto.rating());
         place.setPriceLevel(dto.priceLevel());
         place.setOpeningHours(dto.openingHours());
         place.setLatitude(dto.latitude());
         place.setLongitude(dto.longitude());
-        Place savedPlace = placeRepository.save(place);
-        List<Photo> savedPhotos = createPhotos(dto.photoReferences(), savedPlace);
-        savedPlace.setPhotos(savedPhotos);
-        return savedPlace;
+        place.setFetchedAt(Instant.now());
+        // Photos are persisted together with the place through the cascade.
+        place.setPhotos(newPhotos(dto.photoReferences(), place));
+        return place;
     }
 
-    public PlaceType findOrCreatePlaceType(String placeType) {
-        return placeTypeRepository.findByPlaceType(placeType).orElseGet(() -> {
-            PlaceType newPlaceType = new PlaceType();
-            newPlaceType.setPlaceType(placeType);
-            return placeTypeRepository.save(newPlaceType);
-        });
+    public Place findOrCreatePlace(String placeId) {
+        return findOrCreatePlace(placeId, GooglePriority.INTERACTIVE);
     }
 
-    public Place findOrCreatePlace(String placeId) {
-        return placeRepository.findByPlaceId(placeId).orElseGet(() -> {
-            String url = String.format("https://places.googleapis.com/v1/places/%s", placeId);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("X-Goog-Api-Key", googleMapsApiKey);
-            headers.set("X-Goog-FieldMask", "id,displayName,rating,priceLevel,currentOpeningHours.weekdayDescriptions,types,location,photos.name");
-            headers.set("Content-Type", "application/json");
-            
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            try {
-                ResponseEntity<DetailedPlaceDTO> response = restTemplate.exchange(
-                        url, HttpMethod.GET, entity, DetailedPlaceDTO.class);
-                
-                DetailedPlaceDTO detailedPlace = response.getBody();
-                if (detailedPlace == null) {
-                    throw new NoSuchElementException("Place not found: " + placeId);
-                }
-                
-                List<String> references = detailedPlace.photos() != null
-                        ? detailedPlace.photos().stream()
-                                .map(photo -> {
-                                    String name = photo.name();
-                                    if (name != null && name.contains("/photos/")) {
-                                        return name.substring(name.lastIndexOf("/photos/") + 8);
-                                    }
-                                    return null;
-                                })
-                                .filter(ref -> ref != null)
-                                .toList()
-                        : List.of();
-                
-                PlaceCreateDTO placeCreateDTO = new PlaceCreateDTO(
-                        detailedPlace.id(),
-                        detailedPlace.displayName() != null ? detailedPlace.displayName().text() : "",
-                        detailedPlace.types() != null ? detailedPlace.types() : List.of(),
-                        detailedPlace.rating() != null ? detailedPlace.rating() : 0.0,
-                        convertPriceLevel(detailedPlace.priceLevel()),
-                        detailedPlace.currentOpeningHours() != null
-                                ? detailedPlace.currentOpeningHours().weekdayDescriptions()  // ← átnevezve
-                                : List.of(),
-                        references,
-                        detailedPlace.location() != null ? detailedPlace.location().latitude() : 0.0,
-                        detailedPlace.location() != null ? detailedPlace.location().longitude() : 0.0
-                );
-                return createPlace(placeCreateDTO);
-            } catch (Exception e) {
-                log.error("Error fetching place from Google Places API: {}", e.getMessage());
+    // A caller joining a flight started with a lower priority waits for that flight as it is.
+    public Place findOrCreatePlace(String placeId, GooglePriority priority) {
+        return placeRepository.findByPlaceId(placeId)
+                .orElseGet(() -> placeResolutions.execute(placeId, () -> resolvePlace(placeId, priority)));
+    }
+
+    private Place resolvePlace(String placeId, GooglePriority priority) {
+        // A flight for the same id may have completed between our lookup and joining this one.
+        Optional<Place> existing = placeRepository.findByPlaceId(placeId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        return createPlace(fetchPlaceFromGoogle(placeId, priority));
+    }
+
+    private PlaceCreateDTO fetchPlaceFromGoogle(String placeId, GooglePriority priority) {
+        try {
+            DetailedPlaceDTO detailedPlace = googlePlacesClient.getPlaceDetails(placeId, priority);
+            if (detailedPlace == null) {
                 throw new NoSuchElementException("Place not found: " + placeId);
             }
-        });
+            return toPlaceCreateDTO(detailedPlace);
+        } catch (HttpClientErrorException.BadRequest | HttpClientErrorException.NotFound e) {
+            log.warn("Google Places API rejected place id {}: {}", placeId, e.getStatusCode());
+            placeCache.markMissing(placeId);
+            throw new NoSuchElementException("Place not found: " + placeId);
+        } catch (BulkheadFullException | RateLimitedException | GooglePlacesUnavailableException
+                 | NoSuchElementException e) {
+            throw e;
+        } catch (RestClientException e) {
+            // Google did not answer properly; that says nothing about whether the place exists.
+            log.error("Error fetching place from Google Places API: {}", e.getMessage());
+            throw new GooglePlacesUnavailableException("Could not fetch place " + placeId + " from Google Places API", e);
+        }
+    }
+
+    private PlaceCreateDTO toPlaceCreateDTO(DetailedPlaceDTO detailedPlace) {
+        List<String> references = detailedPlace.photos() != null
+                ? detailedPlace.photos().stream()
+                        .map(photo -> {
+                            String name = photo.name();
+                            if (name != null && name.contains("/photos/")) {
+                                return name.substring(name.lastIndexOf("/photos/") + 8);
+                            }
+                            return null;
+                        })
+                        .filter(ref -> ref != null)
+                        .toList()
+                : List.of();
+
+        return new PlaceCreateDTO(
+                detailedPlace.id(),
+                detailedPlace.displayName() != null ? detailedPlace.displayName().text() : "",
+                detailedPlace.types() != null ? detailedPlace.types() : List.of(),
+                detailedPlace.rating() != null ? detailedPlace.rating() : 0.0,
+                convertPriceLevel(detailedPlace.priceLevel()),
+                detailedPlace.currentOpeningHours() != null
+                        ? detailedPlace.currentOpeningHours().weekdayDescriptions()  // ← átnevezve
+                        : List.of(),
+                references,
+                detailedPlace.location() != null ? detailedPlace.location().latitude() : 0.0,
+                detailedPlace.location() != null ? detailedPlace.location().longitude() : 0.0
+        );
+    }
+
+    /**
+     * Re-pulls the details of a stored place from Google and updates its row, cache entry and index
+     * entry. Photos are kept as they are. Returns {@code false} when Google could not be asked or
+     * no longer knows the place; the stored data then stays in use and the failed attempt is
+     * recorded, so the place is not asked for again before {@code place.refresh.retry.backoff.ms}.
+     * Callers charge the call to the {@link PlaceRefreshBudget}.
+     */
+    public boolean refreshPlace(String placeId) {
+        PlaceCreateDTO details;
+        try {
+            DetailedPlaceDTO detailedPlace = googlePlacesClient.getPlaceDetails(placeId, GooglePriority.REFRESH);
+            if (detailedPlace == null) {
+                placeReadStats.recordFailedRefresh(placeId, Instant.now());
+                return false;
+            }
+            details = toPlaceCreateDTO(detailedPlace);
+        } catch (Exception e) {
+            log.warn("Could not refresh place {}: {}", placeId, e.getMessage());
+            placeReadStats.recordFailedRefresh(placeId, Instant.now());
+            return false;
+        }
+        Map<String, PlaceType> placeTypes = placeTypeDictionary.resolveByName(details.placeTypes());
+        Place place = transactionTemplate.execute(status -> placeRepository.findByPlaceId(placeId)
+                .map(stored -> {
+                    stored.setName(details.name());
+                    stored.setPlaceTypes(details.placeTypes().stream()
+                            .map(placeTypes::get)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet()));
+                    stored.setRating(details.rating());
+                    stored.setPriceLevel(details.priceLevel());
+                    stored.setOpeningHours(details.openingHours());
+                    stored.setLatitude(details.latitude());
+                    stored.setLongitude(details.longitude());
+                    stored.setFetchedAt(Instant.now());
+                    return stored;
+                })
+                .orElse(null));
+        if (place == null) {
+            placeReadStats.recordFailedRefresh(placeId, Instant.now());
+            return false;
+        }
+        placeCache.put(placeId, toPlaceDTOs(List.of(place)).getFirst());
+        placeIndex.add(place);
+        placeReadStats.recordFetch(placeId, place.getFetchedAt());
+        return true;
+    }
+
+    // Stale places are served as they are while a background refresh fetches them again, unless
+    // a refresh failed recently or the refresh budget is spent.
+    private void recordRead(PlaceDTO place) {
+        placeReadStats.recordRead(place.placeId(), place.fetchedAt());
+        Instant now = Instant.now();
+        if ((place.fetchedAt() == null || place.fetchedAt().isBefore(now.minusMillis(softTtlMs)))
+                && !placeReadStats.refreshFailedSince(place.placeId(), now.minusMillis(refreshRetryBackoffMs))) {
+            refreshInBackground(place.placeId());
+        }
+    }
+
+    private void refreshInBackground(String placeId) {
+        if (!refreshesInFlight.add(placeId)) return;
+        if (!refreshBudget.tryAcquire()) {
+            refreshesInFlight.remove(placeId);
+            return;
+        }
+        try {
+            placeRefreshExecutor.execute(() -> {
+                try {
+                    refreshPlace(placeId);
+                } finally {
+                    refreshesInFlight.remove(placeId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshesInFlight.remove(placeId);
+        }
     }
 
     private List<UUID> getIdsFromPhotos(List<Photo> photos) {
@@ -149,7 +623,27 @@ public class PlaceService {
         return photos.stream().map(Photo::getPhotoId).collect(Collectors.toList());
     }
 
+    private List<PlaceDTO> toPlaceDTOs(List<Place> places) {
+        if (places.isEmpty()) return List.of();
+        // One query per PHOTO_ID_BATCH places for their photo ids instead of one query per place.
+        List<Long> ids = places.stream().map(Place::getId).toList();
+        Map<Long, List<UUID>> photoIds = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += PHOTO_ID_BATCH) {
+            for (PlacePhotoId row : photoRepository.findPhotoIdsByPlaceIds(
+                    ids.subList(from, Math.min(from + PHOTO_ID_BATCH, ids.size())))) {
+                photoIds.computeIfAbsent(row.getPlaceId(), id -> new ArrayList<>()).add(row.getPhotoId());
+            }
+        }
+        return places.stream()
+                .map(place -> toPlaceDTO(place, photoIds.getOrDefault(place.getId(), List.of())))
+                .toList();
+    }
+
     private PlaceDTO toPlaceDTO(Place place) {
+        return toPlaceDTO(place, getIdsFromPhotos(place.getPhotos()));
+    }
+
+    private PlaceDTO toPlaceDTO(Place place, List<UUID> photoIds) {
         Location location = new Location(place.getLatitude(), place.getLongitude());
         return new PlaceDTO(
                 place.getPlaceId(),
@@ -157,48 +651,91 @@ public class PlaceService {
                 place.getRating(),
                 place.getPriceLevel(),
                 place.getOpeningHours(),
-                getIdsFromPhotos(place.getPhotos()),
-                location
+                photoIds,
+                location,
+                place.getUpdatedAt(),
+                place.getFetchedAt()
         );
     }
 
-    public List<Photo> createPhotos(List<String> references, Place place) {
+    private List<Photo> newPhotos(List<String> references, Place place) {
         List<Photo> photos = new ArrayList<>();
-        int maxPhotos = 2;
-        int counter = 0;
+        if (references == null) return photos;
         for (String reference : references) {
-            if (counter >= maxPhotos) break;
+            if (photos.size() >= maxPhotos) break;
+            // Only the reference is stored here, the image is downloaded on its first read.
             Photo photo = new Photo();
-            photo.setPhoto(getPhotoFromGoogle(place.getPlaceId(), reference));
+            photo.setReference(reference);
             photo.setPlace(place);
-            photoRepository.save(photo);
             photos.add(photo);
-            counter++;
         }
         return photos;
     }
 
-    private byte[] getPhotoFromGoogle(String placeId, String photoReference) {
-        String url = String.format(
-                "https://places.googleapis.com/v1/places/%s/photos/%s/media?maxWidthPx=400",
-                placeId, photoReference);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Goog-Api-Key", googleMapsApiKey);
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        
-        ResponseEntity<byte[]> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, byte[].class);
-        return response.getBody();
+    private Photo hydratePhoto(Photo photo, GooglePriority priority) {
+        if (photo.getReference() == null) {
+            return photo;
+        }
+        try {
+            downloadPhotoFromGoogle(photo.getPlace().getPlaceId(), photo.getReference(), photo, priority);
+        } catch (RestClientException e) {
+            throw new GooglePlacesUnavailableException("Could not download photo " + photo.getPhotoId(), e);
+        }
+        Photo saved = photoRepository.save(photo);
+        generateVariants(saved);
+        return saved;
+    }
+
+    // Remembers originals ImageIO cannot decode, so their sized reads do not try again.
+    private boolean generateVariants(Photo photo) {
+        if (photoVariants.generate(photo.getPhotoId())) {
+            return true;
+        }
+        photo.setVariantsUnavailable(true);
+        photoRepository.save(photo);
+        return false;
+    }
+
+    private void downloadPhotoFromGoogle(String placeId, String photoReference, Photo photo, GooglePriority priority) {
+        googlePlacesClient.downloadPhoto(placeId, photoReference, response -> {
+            PhotoStore.StoredContent stored = photoStore.write(photo.getPhotoId(), response.getBody());
+            MediaType contentType = response.getHeaders().getContentType();
+            photo.setContentType(contentType != null ? contentType.toString() : MediaType.IMAGE_JPEG_VALUE);
+            photo.setSize(stored.size());
+            photo.setChecksum(stored.checksum());
+            return stored;
+        }, priority);
     }
 
-    public byte[] getPhotoById(UUID photoId) {
-        Photo photo = photoRepository.findByPhotoId(photoId)
+    public Optional<PhotoContent> getPhotoById(UUID photoId, PhotoSize size) {
+        Photo stored = photoRepository.findByPhotoId(photoId)
                 .orElseThrow(() -> new NoSuchElementException("No photo with id " + photoId));
-        return photo.getPhoto();
+        Photo photo = stored.getSize() != null && photoStore.exists(photoId)
+                ? stored
+                : photoHydrations.execute(photoId, () -> hydratePhoto(stored, GooglePriority.INTERACTIVE));
+        // Photos stored before variants existed get them on their first sized read.
+        if (size != PhotoSize.ORIGINAL && !Boolean.TRUE.equals(photo.getVariantsUnavailable())
+                && (photoStore.exists(photoId, size)
+                || photoVariantGenerations.execute(photoId, () -> generateVariants(photo)))) {
+            return photoStore.read(photoId, size).map(this::toVariantContent);
+        }
+        return photoStore.read(photoId)
+                .map(resource -> new PhotoContent(resource, photo.getContentType(), photo.getSize(), photo.getChecksum()));
+    }
+
+    private PhotoContent toVariantContent(Resource resource) {
+        try {
+            return new PhotoContent(resource, MediaType.IMAGE_JPEG_VALUE, resource.contentLength(), null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     public List<UUID> getPhotoIdsByPlaceId(String placeId) {
+        PlaceDTO cached = placeCache.get(placeId);
+        if (cached != null) {
+            return cached.photos();
+        }
         Place place = placeRepository.findByPlaceId(placeId)
                 .orElseThrow(() -> new NoSuchElementException("No place with id " + placeId));
         return getIdsFromPhotos(place.getPhotos());
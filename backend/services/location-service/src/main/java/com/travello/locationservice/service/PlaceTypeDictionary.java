@@ -0,0 +1,98 @@
+package com.travello.locationservice.service;
+
+import com.travello.locationservice.model.PlaceType;
+import com.travello.locationservice.repository.PlaceTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process dictionary of {@link PlaceType} rows. Known types are resolved from memory; unknown
+ * ones are inserted and read back in a single statement that tolerates concurrent inserts.
+ */
+@Component
+public class PlaceTypeDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceTypeDictionary.class);
+
+    // Rows inserted by this statement are not visible to its second SELECT (same snapshot),
+    // so together they return every requested type exactly once. Sorted so concurrent inserts
+    // of overlapping types lock rows in the same order.
+    private static final String UPSERT_SQL = """
+            WITH input AS (SELECT DISTINCT unnest(?::text[]) AS place_type),
+            inserted AS (
+                INSERT INTO place_types (place_type)
+                SELECT place_type FROM input ORDER BY place_type
+                ON CONFLICT (place_type) DO NOTHING
+                RETURNING id, place_type
+            )
+            SELECT id, place_type FROM inserted
+            UNION ALL
+            SELECT t.id, t.place_type FROM place_types t JOIN input i ON i.place_type = t.place_type
+            """;
+    private static final String SELECT_SQL = "SELECT id, place_type FROM place_types WHERE place_type = ANY (?::text[])";
+    private static final RowMapper<PlaceType> ROW_MAPPER =
+            (rs, rowNum) -> new PlaceType(rs.getLong("id"), rs.getString("place_type"));
+
+    private final ConcurrentHashMap<String, PlaceType> placeTypes = new ConcurrentHashMap<>();
+    private final PlaceTypeRepository placeTypeRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlaceTypeDictionary(PlaceTypeRepository placeTypeRepository, JdbcTemplate jdbcTemplate) {
+        this.placeTypeRepository = placeTypeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        placeTypeRepository.findAll().forEach(this::remember);
+        log.info("Loaded {} place types", placeTypes.size());
+    }
+
+    public Map<String, PlaceType> resolveByName(Collection<String> names) {
+        Map<String, PlaceType> resolved = new HashMap<>();
+        if (names == null) return resolved;
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            PlaceType placeType = placeTypes.get(name);
+            if (placeType != null) {
+                resolved.put(name, placeType);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<PlaceType> rows = query(UPSERT_SQL, missing);
+            if (rows.size() < missing.size()) {
+                // A concurrent insert committed after our snapshot was taken, read it now.
+                rows = query(SELECT_SQL, missing);
+            }
+            rows.forEach(row -> resolved.put(row.getPlaceType(), remember(row)));
+        }
+        return resolved;
+    }
+
+    private List<PlaceType> query(String sql, Collection<String> names) {
+        String[] values = names.toArray(String[]::new);
+        return jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", values)),
+                ROW_MAPPER);
+    }
+
+    private PlaceType remember(PlaceType placeType) {
+        PlaceType existing = placeTypes.putIfAbsent(placeType.getPlaceType(), placeType);
+        return existing != null ? existing : placeType;
+    }
+}
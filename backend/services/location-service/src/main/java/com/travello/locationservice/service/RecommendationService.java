@@ -1,74 +1,146 @@
 package com.travello.locationservice.service;
 
+import com.travello.locationservice.cache.RecommendationCache;
+import com.travello.locationservice.dto.Location;
 import com.travello.locationservice.dto.LocationDTO;
-import tools.jackson.databind.ObjectMapper;
+import com.travello.locationservice.exception.BulkheadFullException;
+import com.travello.locationservice.exception.GooglePlacesUnavailableException;
+import com.travello.locationservice.exception.RateLimitedException;
+import com.travello.locationservice.geo.Geohash;
+import com.travello.locationservice.geo.IndexedPlace;
+import com.travello.locationservice.geo.PlaceIndex;
+import com.travello.locationservice.google.GooglePlacesClient;
+import com.travello.locationservice.google.GooglePriority;
+import com.travello.locationservice.util.SingleFlight;
 import com.travello.locationservice.dto.RecommendationDTO;
 import com.travello.locationservice.dto.RecommendationResultDTO;
+import com.travello.locationservice.dto.RecommendationsDTO;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClientException;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 
 @Service
 public class RecommendationService {
 
-    private final RestTemplate restTemplate;
-    private final tools.jackson.databind.ObjectMapper objectMapper;
+    private static final double SEARCH_RADIUS_METERS = 500.0;
+    private static final int MAX_RESULT_COUNT = 10;
 
-    @Value("${google.maps.api.key}")
-    private String googleMapsApiKey;
+    private final GooglePlacesClient googlePlacesClient;
+    private final RecommendationCache recommendationCache;
+    private final PlaceIndex placeIndex;
+    private final PlaceService placeService;
+    private final SingleFlight<String, List<RecommendationDTO>> nearbySearches = new SingleFlight<>();
 
-    public RecommendationService(RestTemplate restTemplate, ObjectMapper objectMapper) {
-        this.restTemplate = restTemplate;
-        this.objectMapper = objectMapper;
+    @Value("${recommendation.cache.geohash.precision}")
+    private int geohashPrecision;
+
+    // Stored places of the type needed around a point to answer without Google, 0 disables it.
+    @Value("${recommendation.local.min.places}")
+    private int localMinPlaces;
+
+    @Value("${recommendation.prefetch.count}")
+    private int prefetchCount;
+
+    public RecommendationService(GooglePlacesClient googlePlacesClient,
+                                 RecommendationCache recommendationCache,
+                                 PlaceIndex placeIndex,
+                                 PlaceService placeService) {
+        this.googlePlacesClient = googlePlacesClient;
+        this.recommendationCache = recommendationCache;
+        this.placeIndex = placeIndex;
+        this.placeService = placeService;
     }
 
-    public List<RecommendationDTO> getRecommendations(LocationDTO location, String type) {
+    /**
+     * Recommendations around the location. With {@code prefetch}, the first
+     * {@code recommendation.prefetch.count} places are resolved in the background, since the
+     * user is likely to open one of them next. While Google is unavailable the last known result
+     * for the cell, or else the stored places around the location, are returned marked stale.
+     */
+    public RecommendationsDTO getRecommendations(LocationDTO location, String type, boolean prefetch) {
+        RecommendationsDTO recommendations = getRecommendations(location, type);
+        if (prefetch && prefetchCount > 0 && !recommendations.stale()) {
+            placeService.prefetchPlaces(recommendations.recommendations().stream()
+                    .limit(prefetchCount)
+                    .map(RecommendationDTO::id)
+                    .toList());
+        }
+        return recommendations;
+    }
 
-        String url = "https://places.googleapis.com/v1/places:searchNearby";
+    private RecommendationsDTO getRecommendations(LocationDTO location, String type) {
+        if (localMinPlaces > 0) {
+            List<PlaceIndex.Nearby> nearby = findStoredNearby(location, type);
+            if (nearby.size() >= localMinPlaces) {
+                return new RecommendationsDTO(toRecommendations(nearby), false);
+            }
+        }
+        String cell = Geohash.encode(location.latitude(), location.longitude(), geohashPrecision);
+        List<RecommendationDTO> cached = recommendationCache.get(cell, type);
+        if (cached != null) {
+            return new RecommendationsDTO(cached, false);
+        }
+        try {
+            return new RecommendationsDTO(nearbySearches.execute(cell + ":" + type, () -> {
+                // Search around the cell centre so the result is valid for every point in the cell.
+                List<RecommendationDTO> recommendations = searchNearby(Geohash.center(cell), type);
+                recommendationCache.put(cell, type, recommendations);
+                return recommendations;
+            }), false);
+        } catch (GooglePlacesUnavailableException | BulkheadFullException | RateLimitedException e) {
+            List<RecommendationDTO> lastKnown = recommendationCache.getLastKnown(cell, type);
+            if (lastKnown != null) {
+                return new RecommendationsDTO(lastKnown, true);
+            }
+            List<PlaceIndex.Nearby> nearby = findStoredNearby(location, type);
+            if (!nearby.isEmpty()) {
+                return new RecommendationsDTO(toRecommendations(nearby), true);
+            }
+            throw e;
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Goog-Api-Key", googleMapsApiKey);
-        headers.set("X-Goog-FieldMask", "places.id,places.displayName,places.rating,places.priceLevel");
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    private List<PlaceIndex.Nearby> findStoredNearby(LocationDTO location, String type) {
+        return placeIndex.nearby(location.latitude(), location.longitude(), SEARCH_RADIUS_METERS, type);
+    }
 
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("includedTypes", List.of(type));
-        requestBody.put("maxResultCount", 10);
+    private List<RecommendationDTO> toRecommendations(List<PlaceIndex.Nearby> nearby) {
+        return nearby.stream()
+                .map(PlaceIndex.Nearby::place)
+                .sorted(Comparator.comparingDouble(IndexedPlace::rating).reversed())
+                .limit(MAX_RESULT_COUNT)
+                .map(place -> new RecommendationDTO(
+                        place.placeId(),
+                        new RecommendationDTO.DisplayName(place.name(), null),
+                        place.rating(),
+                        toGooglePriceLevel(place.priceLevel())))
+                .toList();
+    }
 
-        Map<String, Object> locationRestriction = new HashMap<>();
-        Map<String, Object> circle = new HashMap<>();
-        Map<String, Double> center = new HashMap<>();
-        center.put("latitude", location.latitude());
-        center.put("longitude", location.longitude());
-        circle.put("center", center);
-        circle.put("radius", 500.0);
-        locationRestriction.put("circle", circle);
-        requestBody.put("locationRestriction", locationRestriction);
-        
+    // Stored places have 0 both for free and for unknown price levels, report them as unknown.
+    private String toGooglePriceLevel(int priceLevel) {
+        return switch (priceLevel) {
+            case 1 -> "PRICE_LEVEL_INEXPENSIVE";
+            case 2 -> "PRICE_LEVEL_MODERATE";
+            case 3 -> "PRICE_LEVEL_EXPENSIVE";
+            case 4 -> "PRICE_LEVEL_VERY_EXPENSIVE";
+            default -> null;
+        };
+    }
+
+    private List<RecommendationDTO> searchNearby(Location location, String type) {
         try {
-            String jsonBody = objectMapper.writeValueAsString(requestBody);
-            HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
-            
-            ResponseEntity<RecommendationResultDTO> response = restTemplate.exchange(
-                    url, HttpMethod.POST, entity, RecommendationResultDTO.class);
-            
-            RecommendationResultDTO result = response.getBody();
-            return result != null && result.places() != null 
-                    ? new ArrayList<>(result.places()) 
+            RecommendationResultDTO result = googlePlacesClient.searchNearby(
+                    location, type, SEARCH_RADIUS_METERS, MAX_RESULT_COUNT, GooglePriority.INTERACTIVE);
+            return result != null && result.places() != null
+                    ? new ArrayList<>(result.places())
                     : List.of();
-        } catch (Exception e) {
-            throw new RuntimeException("Error fetching recommendations from Google Places API", e);
+        } catch (RestClientException e) {
+            throw new GooglePlacesUnavailableException("Could not fetch recommendations from Google Places API", e);
         }
     }
 }
-
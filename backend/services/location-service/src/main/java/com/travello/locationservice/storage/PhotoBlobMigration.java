@@ -0,0 +1,103 @@
+package com.travello.locationservice.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves image bytes still held in the legacy {@code photo.photo} bytea column into the
+ * {@link PhotoStore} and drops the column. Runs before the web server accepts requests, copies
+ * in batches that commit on their own and drops the column only once every row has moved; rows
+ * that fail keep their bytes and are retried on the next start. A no-op once the column is gone.
+ */
+@Component
+public class PhotoBlobMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoBlobMigration.class);
+
+    private static final int BATCH_ROWS = 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PhotoStore photoStore;
+
+    // The EntityManagerFactory is only injected so the schema exists by now.
+    public PhotoBlobMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, PhotoStore photoStore,
+                              EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.photoStore = photoStore;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns WHERE table_name = 'photo' AND column_name = 'photo'",
+                Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+        // ddl-auto=update never relaxes NOT NULL, and the entity no longer writes the column.
+        jdbcTemplate.execute("ALTER TABLE photo ALTER COLUMN photo DROP NOT NULL");
+
+        log.info("Moving photo blobs from the database to the photo store");
+        long lastId = 0;
+        Long batchEnd;
+        while ((batchEnd = copyBatch(lastId)) != null) {
+            lastId = batchEnd;
+        }
+
+        Integer remaining = jdbcTemplate.queryForObject("SELECT count(*) FROM photo WHERE photo IS NOT NULL", Integer.class);
+        if (remaining != null && remaining > 0) {
+            log.warn("{} photo blobs could not be moved, keeping the legacy column until the next start", remaining);
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE photo DROP COLUMN photo");
+        log.info("Photo blob migration finished");
+    }
+
+    // Returns the last row id of the batch, or null when no rows are left after lastId.
+    private Long copyBatch(long lastId) {
+        return transactionTemplate.execute(status -> {
+            List<LegacyBlob> blobs = jdbcTemplate.query(
+                    "SELECT id, photo_id, photo FROM photo WHERE photo IS NOT NULL AND id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new LegacyBlob(rs.getLong("id"), rs.getObject("photo_id", UUID.class),
+                            rs.getBytes("photo")),
+                    lastId, BATCH_ROWS);
+            if (blobs.isEmpty()) {
+                return null;
+            }
+            for (LegacyBlob blob : blobs) {
+                copy(blob);
+            }
+            return blobs.getLast().id();
+        });
+    }
+
+    private void copy(LegacyBlob blob) {
+        try (InputStream content = new ByteArrayInputStream(blob.content())) {
+            String contentType = URLConnection.guessContentTypeFromStream(content);
+            PhotoStore.StoredContent stored = photoStore.write(blob.photoId(), content);
+            jdbcTemplate.update(
+                    "UPDATE photo SET size = ?, content_type = ?, checksum = ?, photo = NULL WHERE id = ?",
+                    stored.size(), contentType != null ? contentType : "image/jpeg", stored.checksum(), blob.id());
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not move the blob of photo {}", blob.photoId(), e);
+        }
+    }
+
+    private record LegacyBlob(long id, UUID photoId, byte[] content) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.travello.locationservice.storage;
+
+import org.springframework.core.io.Resource;
+
+public record PhotoContent(Resource resource, String contentType, long size, String checksum) {
+}
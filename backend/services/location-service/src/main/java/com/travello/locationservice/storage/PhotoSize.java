@@ -0,0 +1,39 @@
+package com.travello.locationservice.storage;
+
+import com.travello.locationservice.exception.InvalidPhotoSizeException;
+
+/**
+ * Sizes a photo is served in. Every size except {@link #ORIGINAL} is a JPEG no wider than
+ * {@code maxWidth}; smaller originals are re-encoded but never upscaled.
+ */
+public enum PhotoSize {
+    THUMB("thumb", 200),
+    MEDIUM("medium", 400),
+    LARGE("large", 1200),
+    ORIGINAL("original", 0);
+
+    private final String key;
+    private final int maxWidth;
+
+    PhotoSize(String key, int maxWidth) {
+        this.key = key;
+        this.maxWidth = maxWidth;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public int maxWidth() {
+        return maxWidth;
+    }
+
+    public static PhotoSize fromKey(String key) {
+        for (PhotoSize size : values()) {
+            if (size.key.equalsIgnoreCase(key)) {
+                return size;
+            }
+        }
+        throw new InvalidPhotoSizeException("Unknown photo size: " + key);
+    }
+}
@@ -0,0 +1,90 @@
+package com.travello.locationservice.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * File-backed content store for photo bytes. Files are sharded into two directory levels
+ * by photo id and written through a temp file, so readers never observe a partial image.
+ */
+@Component
+public class PhotoStore {
+
+    private final Path root;
+
+    public PhotoStore(@Value("${photo.storage.dir}") String storageDir) throws IOException {
+        this.root = Paths.get(storageDir).toAbsolutePath();
+        Files.createDirectories(root);
+    }
+
+    public StoredContent write(UUID photoId, InputStream content) {
+        return write(photoId, PhotoSize.ORIGINAL, content);
+    }
+
+    public StoredContent write(UUID photoId, PhotoSize size, InputStream content) {
+        Path target = pathOf(photoId, size);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), photoId.toString(), ".tmp");
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                long written;
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    written = content.transferTo(out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return new StoredContent(written, HexFormat.of().formatHex(digest.digest()));
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store photo " + photoId, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Optional<Resource> read(UUID photoId) {
+        return read(photoId, PhotoSize.ORIGINAL);
+    }
+
+    public Optional<Resource> read(UUID photoId, PhotoSize size) {
+        Path path = pathOf(photoId, size);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    public boolean exists(UUID photoId) {
+        return exists(photoId, PhotoSize.ORIGINAL);
+    }
+
+    public boolean exists(UUID photoId, PhotoSize size) {
+        return Files.isRegularFile(pathOf(photoId, size));
+    }
+
+    // Variants sit next to the original as <photoId>.<size>.
+    private Path pathOf(UUID photoId, PhotoSize size) {
+        String name = photoId.toString();
+        String fileName = size == PhotoSize.ORIGINAL ? name : name + "." + size.key();
+        return root.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(fileName);
+    }
+
+    public record StoredContent(long size, String checksum) {
+    }
+}
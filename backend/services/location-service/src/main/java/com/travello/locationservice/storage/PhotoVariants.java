@@ -0,0 +1,126 @@
+package com.travello.locationservice.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Renders the resized JPEG variants of a stored original with ImageIO and Java2D and writes
+ * them next to it in the {@link PhotoStore}.
+ */
+@Component
+public class PhotoVariants {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoVariants.class);
+
+    private final PhotoStore photoStore;
+    private final float jpegQuality;
+
+    public PhotoVariants(PhotoStore photoStore, @Value("${photo.variant.jpeg.quality}") float jpegQuality) {
+        this.photoStore = photoStore;
+        this.jpegQuality = jpegQuality;
+        // Decode from memory instead of spilling every stream to a temp file first.
+        ImageIO.setUseCache(false);
+    }
+
+    /**
+     * Writes every variant of the photo. Returns {@code false} if there is no original or ImageIO
+     * cannot decode it, in which case only the original can be served.
+     */
+    public boolean generate(UUID photoId) {
+        Optional<Resource> original = photoStore.read(photoId);
+        if (original.isEmpty()) {
+            return false;
+        }
+        BufferedImage image;
+        try (InputStream in = original.get().getInputStream()) {
+            image = decode(photoId, in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read photo " + photoId, e);
+        }
+        if (image == null) {
+            return false;
+        }
+        for (PhotoSize size : PhotoSize.values()) {
+            if (size != PhotoSize.ORIGINAL) {
+                photoStore.write(photoId, size, new ByteArrayInputStream(encodeJpeg(resize(image, size.maxWidth()))));
+            }
+        }
+        return true;
+    }
+
+    // ImageIO returns null for formats it has no reader for and throws for ones it only partly
+    // supports, such as CMYK JPEGs; either way the image cannot be resized.
+    private static BufferedImage decode(UUID photoId, InputStream in) {
+        try {
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                log.warn("Photo {} is not in a format ImageIO can decode, serving the original only", photoId);
+            }
+            return image;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not decode photo {}, serving the original only: {}", photoId, e.getMessage());
+            return null;
+        }
+    }
+
+    // Halving the image before the last bilinear pass keeps large reductions from aliasing.
+    static BufferedImage resize(BufferedImage image, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, image.getWidth());
+        BufferedImage current = image;
+        int width = image.getWidth();
+        do {
+            width = Math.max(width / 2, targetWidth);
+            int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // JPEG has no alpha channel, transparent pixels become white.
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,69 @@
+package com.travello.locationservice.util;
+
+import com.travello.locationservice.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of concurrent calls to one dependency. Callers wait at most {@code maxWait}
+ * for a permit and are rejected with {@link BulkheadFullException} afterwards, so a slow
+ * upstream cannot hold every request thread.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        Gauge.builder("bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.max", () -> maxConcurrent)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .tag("name", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("bulkhead.wait")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(name);
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException(name);
+        }
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
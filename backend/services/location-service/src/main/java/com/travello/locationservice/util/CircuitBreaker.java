@@ -0,0 +1,107 @@
+package com.travello.locationservice.util;
+
+import com.travello.locationservice.exception.CircuitOpenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Stops calling a dependency after {@code failureThreshold} consecutive failures. While open,
+ * calls fail at once with {@link CircuitOpenException}. After {@code openDuration} a single probe
+ * call is let through: its success closes the circuit, its failure opens it again. Exceptions
+ * not matched by {@code isFailure} count neither way.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Predicate<RuntimeException> isFailure;
+    private final Counter rejected;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probing;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration,
+                          Predicate<RuntimeException> isFailure, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.isFailure = isFailure;
+        Gauge.builder("circuitbreaker.state", this, breaker -> breaker.getState().ordinal())
+                .tag("name", name)
+                .description("0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("circuitbreaker.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquirePermission();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            if (isFailure.test(e)) {
+                onFailure();
+            } else {
+                onIgnored();
+            }
+            throw e;
+        }
+        onSuccess();
+        return result;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            long openFor = System.nanoTime() - openedAt;
+            if (openFor < openNanos) {
+                rejected.increment();
+                throw new CircuitOpenException(name, Duration.ofNanos(openNanos - openFor));
+            }
+            state = State.HALF_OPEN;
+            probing = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probing) {
+                rejected.increment();
+                throw new CircuitOpenException(name, Duration.ofSeconds(1));
+            }
+            probing = true;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probing = false;
+    }
+
+    private synchronized void onFailure() {
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            consecutiveFailures = 0;
+            probing = false;
+        }
+    }
+
+    private synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probing = false;
+        }
+    }
+}
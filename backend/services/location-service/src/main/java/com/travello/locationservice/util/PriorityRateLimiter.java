@@ -0,0 +1,167 @@
+package com.travello.locationservice.util;
+
+import com.travello.locationservice.exception.RateLimitedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket whose waiters are served by priority, lowest enum ordinal first, and in arrival
+ * order within a priority. A caller waits at most its {@code maxWait}. When the queue is full a
+ * newcomer displaces the least urgent waiter if it is more urgent, and is rejected otherwise.
+ * Rejections throw {@link RateLimitedException}.
+ */
+public class PriorityRateLimiter<P extends Enum<P>> {
+
+    private final String name;
+    private final double permitsPerNano;
+    private final double burst;
+    private final int maxQueued;
+    private final Timer[] waitTimers;
+    private final Counter[][] rejections;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Waiter<P>> waiters = new PriorityQueue<>(
+            Comparator.<Waiter<P>>comparingInt(waiter -> waiter.priority.ordinal()).thenComparingLong(waiter -> waiter.sequence));
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    private long sequence;
+
+    public PriorityRateLimiter(String name, Class<P> priorityType, double permitsPerSecond, int burst, int maxQueued,
+                               MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.maxQueued = maxQueued;
+        // Meters are looked up once here, acquire only records into them.
+        P[] priorities = priorityType.getEnumConstants();
+        this.waitTimers = new Timer[priorities.length];
+        this.rejections = new Counter[priorities.length][Rejection.values().length];
+        for (P priority : priorities) {
+            String priorityTag = priority.name().toLowerCase();
+            waitTimers[priority.ordinal()] = Timer.builder("ratelimiter.wait")
+                    .tag("name", name)
+                    .tag("priority", priorityTag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            for (Rejection rejection : Rejection.values()) {
+                rejections[priority.ordinal()][rejection.ordinal()] = Counter.builder("ratelimiter.rejected")
+                        .tag("name", name)
+                        .tag("priority", priorityTag)
+                        .tag("reason", rejection.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+        }
+        Gauge.builder("ratelimiter.tokens", this, limiter -> limiter.tokens)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("ratelimiter.queued", waiters, PriorityQueue::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public void acquire(P priority, Duration maxWait) {
+        long start = System.nanoTime();
+        long deadline = start + maxWait.toNanos();
+        lock.lock();
+        try {
+            refill();
+            if (waiters.isEmpty() && tokens >= 1) {
+                tokens -= 1;
+                recordWait(priority, start);
+                return;
+            }
+            if (waiters.size() >= maxQueued && !shedLessUrgentThan(priority)) {
+                throw reject(priority, Rejection.QUEUE_FULL);
+            }
+            Waiter<P> waiter = new Waiter<>(priority, sequence++);
+            waiters.add(waiter);
+            while (true) {
+                if (waiter.shed) {
+                    throw reject(priority, Rejection.SHED);
+                }
+                refill();
+                if (waiters.peek() == waiter && tokens >= 1) {
+                    waiters.poll();
+                    tokens -= 1;
+                    changed.signalAll();
+                    recordWait(priority, start);
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    waiters.remove(waiter);
+                    changed.signalAll();
+                    throw reject(priority, Rejection.TIMEOUT);
+                }
+                // Only the head waits for the next token, the others are woken when the head changes.
+                long wait = waiters.peek() == waiter
+                        ? Math.min(remaining, (long) Math.ceil((1 - tokens) / permitsPerNano))
+                        : remaining;
+                try {
+                    changed.awaitNanos(Math.max(wait, 1));
+                } catch (InterruptedException e) {
+                    waiters.remove(waiter);
+                    changed.signalAll();
+                    Thread.currentThread().interrupt();
+                    throw reject(priority, Rejection.INTERRUPTED);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+
+    private boolean shedLessUrgentThan(P priority) {
+        Waiter<P> leastUrgent = null;
+        for (Waiter<P> waiter : waiters) {
+            if (leastUrgent == null || waiters.comparator().compare(waiter, leastUrgent) > 0) {
+                leastUrgent = waiter;
+            }
+        }
+        if (leastUrgent == null || leastUrgent.priority.ordinal() <= priority.ordinal()) {
+            return false;
+        }
+        waiters.remove(leastUrgent);
+        leastUrgent.shed = true;
+        changed.signalAll();
+        return true;
+    }
+
+    private RateLimitedException reject(P priority, Rejection rejection) {
+        rejections[priority.ordinal()][rejection.ordinal()].increment();
+        return new RateLimitedException(name);
+    }
+
+    private void recordWait(P priority, long start) {
+        waitTimers[priority.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private enum Rejection { QUEUE_FULL, SHED, TIMEOUT, INTERRUPTED }
+
+    private static final class Waiter<P> {
+        private final P priority;
+        private final long sequence;
+        private boolean shed;
+
+        private Waiter(P priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
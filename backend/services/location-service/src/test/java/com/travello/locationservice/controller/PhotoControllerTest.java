@@ -0,0 +1,76 @@
+package com.travello.locationservice.controller;
+
+import com.travello.locationservice.service.PlaceService;
+import com.travello.locationservice.storage.PhotoContent;
+import com.travello.locationservice.storage.PhotoSize;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PhotoController.class)
+class PhotoControllerTest {
+
+    private static final UUID PHOTO_ID = UUID.fromString("3f2b8c1e-0000-4000-8000-000000000001");
+    private static final String CACHE_CONTROL = "max-age=31536000, public, immutable";
+
+    @MockitoBean private PlaceService placeService;
+
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("serves the photo with an id-and-size ETag and a year of immutable caching")
+    void shouldServePhotoWithValidators() throws Exception {
+        byte[] bytes = {1, 2, 3};
+        when(placeService.getPhotoById(PHOTO_ID, PhotoSize.THUMB))
+                .thenReturn(Optional.of(new PhotoContent(new ByteArrayResource(bytes), "image/jpeg", bytes.length, "abc")));
+
+        mockMvc.perform(get("/location/photos/{photoId}", PHOTO_ID).param("size", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + PHOTO_ID + "-thumb\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    @DisplayName("answers 304 from the ETag alone, without loading the photo")
+    void shouldReturnNotModified_withoutLoadingPhoto() throws Exception {
+        mockMvc.perform(get("/location/photos/{photoId}", PHOTO_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + PHOTO_ID + "-medium\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + PHOTO_ID + "-medium\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(placeService, never()).getPhotoById(any(), any());
+    }
+
+    @Test
+    @DisplayName("serves the photo again when the ETag is for another size")
+    void shouldServePhoto_whenETagIsForAnotherSize() throws Exception {
+        when(placeService.getPhotoById(PHOTO_ID, PhotoSize.MEDIUM))
+                .thenReturn(Optional.of(new PhotoContent(new ByteArrayResource(new byte[]{1}), null, 1, "abc")));
+
+        mockMvc.perform(get("/location/photos/{photoId}", PHOTO_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + PHOTO_ID + "-thumb\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + PHOTO_ID + "-medium\""));
+    }
+}
@@ -0,0 +1,100 @@
+package com.travello.locationservice.controller;
+
+import com.travello.locationservice.dto.Location;
+import com.travello.locationservice.dto.PlaceDTO;
+import com.travello.locationservice.service.PlaceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PlaceController.class)
+class PlaceControllerTest {
+
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-01T10:00:00Z");
+
+    @MockitoBean private PlaceService placeService;
+
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("answers with the place, a quoted ETag, Last-Modified and no-cache")
+    void shouldReturnPlaceWithValidators() throws Exception {
+        when(placeService.getPlaceById("place-1")).thenReturn(place("Old Town", LAST_MODIFIED));
+
+        mockMvc.perform(get("/location/place-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Old Town"))
+                .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("\"[0-9a-f]{32}\"")))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    @DisplayName("answers 304 without a body when If-None-Match carries the current ETag")
+    void shouldReturnNotModified_whenETagMatches() throws Exception {
+        when(placeService.getPlaceById("place-1")).thenReturn(place("Old Town", LAST_MODIFIED));
+        String eTag = mockMvc.perform(get("/location/place-1")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/location/place-1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("changes the ETag when a visible field changes, not when only timestamps do")
+    void shouldDeriveETagFromVisibleFields() throws Exception {
+        when(placeService.getPlaceById("place-1")).thenReturn(
+                place("Old Town", LAST_MODIFIED),
+                place("Old Town", LAST_MODIFIED.plusSeconds(60)),
+                place("New Town", LAST_MODIFIED));
+
+        String first = eTag();
+        String sameContent = eTag();
+        String renamed = eTag();
+
+        assertThat(sameContent).isEqualTo(first);
+        assertThat(renamed).isNotEqualTo(first);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1e18, 19.05", "Infinity, 19.05", "NaN, 19.05", "-90.01, 19.05", "47.5, 181", "47.5, -Infinity"})
+    @DisplayName("answers 400 for nearby lookups around non-finite or out-of-range coordinates")
+    void shouldRejectInvalidNearbyLocation(String lat, String lng) throws Exception {
+        mockMvc.perform(get("/location/nearby").param("lat", lat).param("lng", lng))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(placeService);
+    }
+
+    private String eTag() throws Exception {
+        return mockMvc.perform(get("/location/place-1")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static PlaceDTO place(String name, Instant lastModified) {
+        return new PlaceDTO("place-1", name, 4.5, 2, List.of("Mon: 9-17"),
+                List.of(UUID.fromString("00000000-0000-0000-0000-000000000001")),
+                new Location(47.5, 19.05), lastModified, lastModified);
+    }
+}
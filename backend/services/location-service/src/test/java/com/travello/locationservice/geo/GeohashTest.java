@@ -0,0 +1,36 @@
+package com.travello.locationservice.geo;
+
+import com.travello.locationservice.dto.Location;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeohashTest {
+
+    @Test
+    @DisplayName("encodes coordinates to the reference geohash")
+    void shouldEncodeKnownCoordinates() {
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(47.4979, 19.0402, 7)).isEqualTo("u2mw1q8");
+    }
+
+    @Test
+    @DisplayName("puts coordinates that differ in the 6th decimal into the same cell")
+    void shouldSnapNearbyCoordinatesToSameCell() {
+        assertThat(Geohash.encode(47.497912, 19.040235, 7))
+                .isEqualTo(Geohash.encode(47.497915, 19.040239, 7));
+    }
+
+    @Test
+    @DisplayName("decodes a cell to a centre that encodes back to the same cell")
+    void shouldDecodeCellCentre() {
+        String cell = Geohash.encode(47.4979, 19.0402, 7);
+        Location center = Geohash.center(cell);
+
+        assertThat(Geohash.encode(center.latitude(), center.longitude(), 7)).isEqualTo(cell);
+        assertThat(center.latitude()).isCloseTo(47.4979, within(0.001));
+        assertThat(center.longitude()).isCloseTo(19.0402, within(0.001));
+    }
+}
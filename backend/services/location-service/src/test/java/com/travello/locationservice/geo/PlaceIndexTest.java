@@ -0,0 +1,84 @@
+package com.travello.locationservice.geo;
+
+import com.travello.locationservice.exception.InvalidLocationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PlaceIndexTest {
+
+    private PlaceIndex placeIndex;
+
+    @BeforeEach
+    void setUp() {
+        placeIndex = new PlaceIndex(null, null, 0.01);
+        placeIndex.add(place("parliament", 47.5071, 19.0456, "tourist_attraction"));
+        placeIndex.add(place("basilica", 47.5009, 19.0540, "church", "tourist_attraction"));
+        placeIndex.add(place("gerbeaud", 47.4968, 19.0502, "cafe"));
+        placeIndex.add(place("vienna", 48.2082, 16.3738, "tourist_attraction"));
+    }
+
+    @Test
+    @DisplayName("finds places across cell borders within the radius, closest first")
+    void shouldReturnPlacesWithinRadiusOrderedByDistance() {
+        List<PlaceIndex.Nearby> nearby = placeIndex.nearby(47.4979, 19.0502, 1500, null);
+
+        assertThat(nearby).extracting(result -> result.place().placeId())
+                .containsExactly("gerbeaud", "basilica", "parliament");
+        assertThat(nearby.getFirst().distanceMeters()).isCloseTo(122, within(5.0));
+    }
+
+    @Test
+    @DisplayName("filters by place type")
+    void shouldFilterByType() {
+        assertThat(placeIndex.nearby(47.4979, 19.0502, 1500, "tourist_attraction"))
+                .extracting(result -> result.place().placeId())
+                .containsExactly("basilica", "parliament");
+    }
+
+    @Test
+    @DisplayName("replaces a place that is added again")
+    void shouldNotDuplicateReaddedPlace() {
+        placeIndex.add(place("gerbeaud", 47.4968, 19.0502, "cafe", "bakery"));
+
+        assertThat(placeIndex.size()).isEqualTo(4);
+        assertThat(placeIndex.nearby(47.4968, 19.0502, 10, "bakery")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("moves a place that is added again with other coordinates out of its old cell")
+    void shouldMoveReaddedPlace() {
+        placeIndex.add(place("gerbeaud", 47.5071, 19.0460, "cafe"));
+
+        assertThat(placeIndex.size()).isEqualTo(4);
+        assertThat(placeIndex.nearby(47.4968, 19.0502, 100, null)).isEmpty();
+        assertThat(placeIndex.nearby(47.5071, 19.0460, 100, "cafe"))
+                .extracting(result -> result.place().placeId())
+                .containsExactly("gerbeaud");
+        assertThat(placeIndex.nearby(47.5, 19.05, 5000, null))
+                .extracting(result -> result.place().placeId())
+                .containsOnlyOnce("gerbeaud");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1e18, 19.05", "Infinity, 19.05", "NaN, 19.05", "90.5, 19.05", "-91, 19.05",
+            "47.5, -Infinity", "47.5, 180.5", "47.5, -1e18"})
+    @DisplayName("rejects non-finite and out-of-range coordinates instead of walking an unbounded grid")
+    void shouldRejectInvalidCoordinates(double latitude, double longitude) {
+        assertThatThrownBy(() -> placeIndex.nearby(latitude, longitude, 1500, null))
+                .isInstanceOf(InvalidLocationException.class);
+    }
+
+    private IndexedPlace place(String placeId, double latitude, double longitude, String... types) {
+        return new IndexedPlace(placeId, placeId, latitude, longitude, 4.5, 2, Set.of(types));
+    }
+}
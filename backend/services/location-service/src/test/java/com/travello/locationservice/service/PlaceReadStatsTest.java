@@ -0,0 +1,62 @@
+package com.travello.locationservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceReadStatsTest {
+
+    private final Instant now = Instant.now();
+    private final PlaceReadStats placeReadStats = new PlaceReadStats();
+
+    @Test
+    @DisplayName("picks the most read places fetched before the cutoff")
+    void shouldPickMostReadStalePlaces() {
+        read("popular", now.minus(Duration.ofDays(10)), 5);
+        read("fresh", now, 9);
+        read("rare", now.minus(Duration.ofDays(10)), 1);
+        read("legacy", null, 3);
+
+        assertThat(placeReadStats.mostReadFetchedBefore(now.minus(Duration.ofDays(1)), now, 2))
+                .containsExactly("popular", "legacy");
+    }
+
+    @Test
+    @DisplayName("forgets places whose count decays to zero")
+    void shouldForgetPlacesNoLongerRead() {
+        read("popular", null, 4);
+        read("rare", null, 1);
+
+        placeReadStats.decay();
+
+        assertThat(placeReadStats.mostReadFetchedBefore(now, now, 10)).containsExactly("popular");
+    }
+
+    @Test
+    @DisplayName("skips places whose refresh failed within the backoff until a fetch succeeds")
+    void shouldBackOffAfterFailedRefresh() {
+        read("unknown", null, 5);
+        read("popular", null, 3);
+        placeReadStats.recordFailedRefresh("unknown", now.minus(Duration.ofMinutes(10)));
+
+        assertThat(placeReadStats.refreshFailedSince("unknown", now.minus(Duration.ofHours(1)))).isTrue();
+        assertThat(placeReadStats.mostReadFetchedBefore(now, now.minus(Duration.ofHours(1)), 10))
+                .containsExactly("popular");
+        assertThat(placeReadStats.mostReadFetchedBefore(now, now.minus(Duration.ofMinutes(5)), 10))
+                .containsExactly("unknown", "popular");
+
+        placeReadStats.recordFetch("unknown", now);
+
+        assertThat(placeReadStats.refreshFailedSince("unknown", now.minus(Duration.ofHours(1)))).isFalse();
+    }
+
+    private void read(String placeId, Instant fetchedAt, int times) {
+        for (int i = 0; i < times; i++) {
+            placeReadStats.recordRead(placeId, fetchedAt);
+        }
+    }
+}
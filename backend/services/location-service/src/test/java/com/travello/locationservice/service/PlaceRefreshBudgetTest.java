@@ -0,0 +1,31 @@
+package com.travello.locationservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceRefreshBudgetTest {
+
+    @Test
+    @DisplayName("allows the budget once per interval")
+    void shouldRenewBudgetEveryInterval() {
+        AtomicLong nanoTime = new AtomicLong();
+        PlaceRefreshBudget budget = new PlaceRefreshBudget(2, 1000, nanoTime::get);
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.available()).isEqualTo(1);
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertThat(budget.tryAcquire()).isFalse();
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(budget.available()).isEqualTo(2);
+        assertThat(budget.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,156 @@
+package com.travello.locationservice.service;
+
+import com.travello.locationservice.cache.PlaceCache;
+import com.travello.locationservice.dto.DetailedPlaceDTO;
+import com.travello.locationservice.dto.PlaceBatchResultDTO;
+import com.travello.locationservice.dto.PlaceCreateDTO;
+import com.travello.locationservice.dto.PlaceDTO;
+import com.travello.locationservice.geo.PlaceIndex;
+import com.travello.locationservice.google.GooglePlacesClient;
+import com.travello.locationservice.google.GooglePriority;
+import com.travello.locationservice.model.Place;
+import com.travello.locationservice.storage.PhotoStore;
+import com.travello.locationservice.storage.PhotoVariants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * The {@link PlaceCache} in front of {@link PlaceService#getPlaceById}, with the statements Hibernate
+ * prepares standing in for repository calls.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cached-places;MODE=PostgreSQL;INIT=CREATE DOMAIN IF NOT EXISTS jsonb AS JSON",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PlaceService.class, PlaceCache.class, SimpleMeterRegistry.class, ObjectMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlaceServiceCacheTest {
+
+    private static final String PLACE_ID = "place-1";
+
+    @MockitoBean private GooglePlacesClient googlePlacesClient;
+    @MockitoBean private PhotoStore photoStore;
+    @MockitoBean private PhotoVariants photoVariants;
+    @MockitoBean private PlaceTypeDictionary placeTypeDictionary;
+    @MockitoBean private PlaceIndex placeIndex;
+    @MockitoBean(name = "placeResolutionExecutor") private ExecutorService placeResolutionExecutor;
+    @MockitoBean(name = "placeRefreshExecutor") private ExecutorService placeRefreshExecutor;
+    @MockitoBean(name = "placePrefetchExecutor") private ExecutorService placePrefetchExecutor;
+    @MockitoBean private PlaceReadStats placeReadStats;
+    @MockitoBean private PlaceRefreshBudget placeRefreshBudget;
+
+    @Autowired private PlaceService placeService;
+    @Autowired private PlaceCache placeCache;
+    @Autowired private EntityManager entityManager;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Photo").executeUpdate();
+            entityManager.createQuery("delete from Place").executeUpdate();
+            Place place = new Place();
+            place.setPlaceId(PLACE_ID);
+            place.setName("Old name");
+            place.setOpeningHours(List.of());
+            entityManager.persist(place);
+        });
+        placeCache.evict(PLACE_ID);
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getPlaceById serves a cached place without touching the repository")
+    void getPlaceById_shouldSkipRepository_whenCached() {
+        PlaceDTO loaded = getPlaceById(PLACE_ID);
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+        statistics.clear();
+
+        PlaceDTO cached = getPlaceById(PLACE_ID);
+
+        assertThat(cached).isEqualTo(loaded);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("refreshPlace replaces the cached place with the refreshed one")
+    void getPlaceById_shouldServeRefreshedPlace_whenRefreshed() {
+        getPlaceById(PLACE_ID);
+        when(googlePlacesClient.getPlaceDetails(PLACE_ID, GooglePriority.REFRESH)).thenReturn(new DetailedPlaceDTO(
+                PLACE_ID, "places/" + PLACE_ID, new DetailedPlaceDTO.DisplayName("New name", "en"),
+                4.5, null, List.of(), List.of(), null, null));
+
+        assertThat(placeService.refreshPlace(PLACE_ID)).isTrue();
+        statistics.clear();
+
+        assertThat(getPlaceById(PLACE_ID).name()).isEqualTo("New name");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("createAndGetPlaceDTO replaces the cached place when the place is created again")
+    void getPlaceById_shouldServeNewPlace_whenRecreated() {
+        getPlaceById(PLACE_ID);
+        deleteStoredPlace();
+
+        placeService.createAndGetPlaceDTO(placeCreateDTO("New name"));
+
+        assertThat(getPlaceById(PLACE_ID).name()).isEqualTo("New name");
+    }
+
+    @Test
+    @DisplayName("createPlaces evicts the cached place when the place is created again")
+    void getPlaceById_shouldReloadPlace_whenRecreatedInBatch() {
+        getPlaceById(PLACE_ID);
+        deleteStoredPlace();
+
+        List<PlaceBatchResultDTO> results = placeService.createPlaces(List.of(placeCreateDTO("New name")));
+        statistics.clear();
+
+        assertThat(results).extracting(PlaceBatchResultDTO::status).containsExactly(PlaceBatchResultDTO.Status.CREATED);
+        assertThat(getPlaceById(PLACE_ID).name()).isEqualTo("New name");
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+
+    // Web requests keep a session open for the lazy photo collection, a transaction stands in for it.
+    private PlaceDTO getPlaceById(String placeId) {
+        return transactionTemplate.execute(status -> placeService.getPlaceById(placeId));
+    }
+
+    private void deleteStoredPlace() {
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.createQuery("delete from Place").executeUpdate());
+    }
+
+    private PlaceCreateDTO placeCreateDTO(String name) {
+        return new PlaceCreateDTO(PLACE_ID, name, List.of(), 4.5, 2, List.of(), List.of(), 47.5, 19.05);
+    }
+}
@@ -0,0 +1,242 @@
+package com.travello.locationservice.service;
+
+import com.travello.locationservice.cache.PlaceCache;
+import com.travello.locationservice.dto.PlaceBatchResultDTO;
+import com.travello.locationservice.dto.PlaceBulkDTO;
+import com.travello.locationservice.dto.PlaceCreateDTO;
+import com.travello.locationservice.dto.PlaceDTO;
+import com.travello.locationservice.dto.PlacePageDTO;
+import com.travello.locationservice.geo.PlaceIndex;
+import com.travello.locationservice.google.GooglePlacesClient;
+import com.travello.locationservice.model.Photo;
+import com.travello.locationservice.model.Place;
+import com.travello.locationservice.repository.PhotoRepository;
+import com.travello.locationservice.storage.PhotoContent;
+import com.travello.locationservice.storage.PhotoSize;
+import com.travello.locationservice.storage.PhotoStore;
+import com.travello.locationservice.storage.PhotoVariants;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:places;MODE=PostgreSQL;INIT=CREATE DOMAIN IF NOT EXISTS jsonb AS JSON",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PlaceService.class, ObjectMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlaceServiceQueryCountTest {
+
+    private static final int PLACES = 12;
+
+    @MockitoBean private GooglePlacesClient googlePlacesClient;
+    @MockitoBean private PlaceCache placeCache;
+    @MockitoBean private PhotoStore photoStore;
+    @MockitoBean private PhotoVariants photoVariants;
+    @MockitoBean private PlaceTypeDictionary placeTypeDictionary;
+    @MockitoBean private PlaceIndex placeIndex;
+    @MockitoBean(name = "placeResolutionExecutor") private ExecutorService placeResolutionExecutor;
+    @MockitoBean(name = "placeRefreshExecutor") private ExecutorService placeRefreshExecutor;
+    @MockitoBean(name = "placePrefetchExecutor") private ExecutorService placePrefetchExecutor;
+    @MockitoBean private PlaceReadStats placeReadStats;
+    @MockitoBean private PlaceRefreshBudget placeRefreshBudget;
+
+    @Autowired private PlaceService placeService;
+    @Autowired private PhotoRepository photoRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Photo").executeUpdate();
+            entityManager.createQuery("delete from Place").executeUpdate();
+            for (int i = 0; i < PLACES; i++) {
+                Place place = new Place();
+                place.setPlaceId("place-" + i);
+                place.setName("Place " + i);
+                place.setOpeningHours(List.of());
+                entityManager.persist(place);
+                List<Photo> photos = new ArrayList<>();
+                for (int j = 0; j < 2; j++) {
+                    Photo photo = new Photo();
+                    photo.setPlace(place);
+                    photo.setReference("reference-" + i + "-" + j);
+                    entityManager.persist(photo);
+                    photos.add(photo);
+                }
+                place.setPhotos(photos);
+            }
+        });
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getAllPlaces loads places and their photo ids in two statements")
+    void getAllPlaces_shouldNotIssueQueryPerPlace() {
+        List<PlaceDTO> places = placeService.getAllPlaces();
+
+        assertThat(places).hasSize(PLACES).allSatisfy(place -> assertThat(place.photos()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getPlacePage loads a page and its photo ids in two statements")
+    void getPlacePage_shouldNotIssueQueryPerPlace() {
+        PlacePageDTO page = placeService.getPlacePage(null, 5);
+
+        assertThat(page.places()).hasSize(5).allSatisfy(place -> assertThat(place.photos()).hasSize(2));
+        assertThat(page.nextCursor()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getPlacePage continues after the cursor without repeating places")
+    void getPlacePage_shouldContinueFromCursor() {
+        PlacePageDTO first = placeService.getPlacePage(null, 5);
+        PlacePageDTO second = placeService.getPlacePage(first.nextCursor(), 10);
+
+        assertThat(second.places()).hasSize(PLACES - 5);
+        assertThat(second.places()).extracting(PlaceDTO::placeId)
+                .doesNotContainAnyElementsOf(first.places().stream().map(PlaceDTO::placeId).toList());
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("streamAllPlaces writes one line per place with one photo query per batch")
+    void streamAllPlaces_shouldNotIssueQueryPerPlace() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        placeService.streamAllPlaces(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(PLACES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getPlacesByIds loads stored places and their photo ids in two statements, in request order")
+    void getPlacesByIds_shouldNotIssueQueryPerPlace() {
+        PlaceBulkDTO result = placeService.getPlacesByIds(List.of("place-7", "place-2", "place-7", "place-9"));
+
+        assertThat(result.places()).extracting(PlaceDTO::placeId).containsExactly("place-7", "place-2", "place-9");
+        assertThat(result.places()).allSatisfy(place -> assertThat(place.photos()).hasSize(2));
+        assertThat(result.errors()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("prefetchPlaces checks stored places in one statement and queues only unknown ones")
+    void prefetchPlaces_shouldQueueOnlyUnknownPlaces() {
+        placeService.prefetchPlaces(List.of("place-1", "place-2", "unknown", "unknown"));
+
+        verify(placePrefetchExecutor, times(1)).execute(any(Runnable.class));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByPlaceIdAndSizeIsNull loads a place's un-hydrated photos with their place in one statement")
+    void findByPlaceIdAndSizeIsNull_shouldLoadUnhydratedPhotosAtOnce() {
+        Place place = transactionTemplate.execute(status -> {
+            Place stored = entityManager.createQuery("select p from Place p where p.placeId = 'place-3'", Place.class)
+                    .getSingleResult();
+            entityManager.createQuery("update Photo p set p.size = 42 where p.reference = 'reference-3-0'")
+                    .executeUpdate();
+            return stored;
+        });
+        statistics.clear();
+
+        List<Photo> photos = photoRepository.findByPlaceIdAndSizeIsNull(place.getId());
+
+        assertThat(photos).extracting(Photo::getReference).containsExactly("reference-3-1");
+        assertThat(photos).allSatisfy(photo -> assertThat(Hibernate.isInitialized(photo.getPlace())).isTrue());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getPhotoById serves the original of a photo ImageIO cannot decode and tries to decode it only once")
+    void getPhotoById_shouldRecordUndecodablePhoto() {
+        UUID photoId = transactionTemplate.execute(status -> {
+            Photo photo = entityManager.createQuery("select p from Photo p where p.reference = 'reference-3-0'", Photo.class)
+                    .getSingleResult();
+            photo.setSize(3L);
+            photo.setContentType("image/jpeg");
+            return photo.getPhotoId();
+        });
+        when(photoStore.exists(photoId)).thenReturn(true);
+        when(photoStore.read(photoId)).thenAnswer(invocation -> Optional.of(new ByteArrayResource(new byte[]{1, 2, 3})));
+        when(photoVariants.generate(photoId)).thenReturn(false);
+
+        PhotoContent first = placeService.getPhotoById(photoId, PhotoSize.THUMB).orElseThrow();
+        PhotoContent second = placeService.getPhotoById(photoId, PhotoSize.MEDIUM).orElseThrow();
+
+        assertThat(first.contentType()).isEqualTo("image/jpeg");
+        assertThat(second.size()).isEqualTo(3);
+        verify(photoVariants, times(1)).generate(photoId);
+    }
+
+    @Test
+    @DisplayName("createPlaces batches its inserts and reports existing, repeated and invalid places")
+    void createPlaces_shouldBatchInsertsAndReportEveryItem() {
+        List<PlaceCreateDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batch.add(placeCreateDTO("batch-" + i));
+        }
+        batch.add(placeCreateDTO("place-0"));
+        batch.add(placeCreateDTO("batch-0"));
+        batch.add(placeCreateDTO(null));
+
+        List<PlaceBatchResultDTO> results = placeService.createPlaces(batch);
+
+        assertThat(results).hasSize(23);
+        assertThat(results.subList(0, 20)).allSatisfy(result ->
+                assertThat(result.status()).isEqualTo(PlaceBatchResultDTO.Status.CREATED));
+        assertThat(results.subList(20, 23)).extracting(PlaceBatchResultDTO::status).containsExactly(
+                PlaceBatchResultDTO.Status.EXISTS, PlaceBatchResultDTO.Status.EXISTS, PlaceBatchResultDTO.Status.FAILED);
+        assertThat(placeService.getAllPlaces()).hasSize(PLACES + 20)
+                .filteredOn(place -> place.placeId().startsWith("batch-"))
+                .allSatisfy(place -> assertThat(place.photos()).hasSize(2));
+        // 20 places and 40 photos would take 60 statements without batching.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(12);
+    }
+
+    private PlaceCreateDTO placeCreateDTO(String placeId) {
+        return new PlaceCreateDTO(placeId, "Place " + placeId, List.of(), 4.5, 2, List.of(),
+                List.of("a", "b", "c"), 47.5, 19.05);
+    }
+}
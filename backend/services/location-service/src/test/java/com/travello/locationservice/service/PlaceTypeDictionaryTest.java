@@ -0,0 +1,106 @@
+package com.travello.locationservice.service;
+
+import com.travello.locationservice.model.PlaceType;
+import com.travello.locationservice.repository.PlaceTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The upsert relies on PostgreSQL's data-modifying CTEs and snapshot rules, so it runs against the
+// same PostgreSQL version as docker-compose; skipped where Docker is not available.
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlaceTypeDictionaryTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    private static final List<String> TYPES = List.of("cafe", "museum", "park", "restaurant", "zoo");
+
+    @Autowired private PlaceTypeRepository placeTypeRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        placeTypeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("inserts unknown types once and resolves them from memory afterwards")
+    void shouldInsertUnknownTypes() {
+        PlaceTypeDictionary dictionary = new PlaceTypeDictionary(placeTypeRepository, jdbcTemplate);
+
+        Map<String, PlaceType> first = dictionary.resolveByName(List.of("cafe", "museum", "cafe"));
+        placeTypeRepository.deleteAll();
+        Map<String, PlaceType> second = dictionary.resolveByName(List.of("museum", "cafe"));
+
+        assertThat(first.keySet()).containsExactlyInAnyOrder("cafe", "museum");
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("returns the existing row of a type another instance inserted (ON CONFLICT DO NOTHING)")
+    void shouldReturnExistingRow_whenTypeWasInsertedElsewhere() {
+        PlaceType existing = placeTypeRepository.save(new PlaceType(null, "cafe"));
+        PlaceTypeDictionary dictionary = new PlaceTypeDictionary(placeTypeRepository, jdbcTemplate);
+
+        Map<String, PlaceType> resolved = dictionary.resolveByName(List.of("cafe", "museum"));
+
+        assertThat(resolved.get("cafe").getId()).isEqualTo(existing.getId());
+        assertThat(resolved.get("museum").getId()).isNotNull();
+        assertThat(placeTypeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("resolves every instance to the same rows when they insert the same types concurrently")
+    void shouldAgreeOnRows_whenInsertingConcurrently() throws Exception {
+        int instances = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Map<String, PlaceType>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(instances)) {
+            for (int i = 0; i < instances; i++) {
+                PlaceTypeDictionary dictionary = new PlaceTypeDictionary(placeTypeRepository, jdbcTemplate);
+                // Each instance asks in its own order.
+                List<String> types = new ArrayList<>(TYPES);
+                Collections.rotate(types, i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return dictionary.resolveByName(types);
+                }));
+            }
+            start.countDown();
+        }
+
+        Map<String, PlaceType> expected = results.getFirst().get();
+        assertThat(expected.keySet()).containsExactlyInAnyOrderElementsOf(TYPES);
+        for (Future<Map<String, PlaceType>> result : results) {
+            assertThat(result.get()).allSatisfy((name, placeType) ->
+                    assertThat(placeType.getId()).isEqualTo(expected.get(name).getId()));
+        }
+        assertThat(placeTypeRepository.count()).isEqualTo(TYPES.size());
+    }
+}
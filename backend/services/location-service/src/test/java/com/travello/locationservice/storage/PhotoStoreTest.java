@@ -0,0 +1,72 @@
+package com.travello.locationservice.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoStoreTest {
+
+    @TempDir
+    Path storageDir;
+
+    @Test
+    @DisplayName("reads back what was written, with its size and SHA-256 checksum")
+    void shouldReadBackWrittenContent() throws IOException, NoSuchAlgorithmException {
+        PhotoStore photoStore = new PhotoStore(storageDir.toString());
+        UUID photoId = UUID.randomUUID();
+        byte[] content = "some image bytes".getBytes(StandardCharsets.UTF_8);
+
+        PhotoStore.StoredContent stored = photoStore.write(photoId, new ByteArrayInputStream(content));
+
+        assertThat(stored.size()).isEqualTo(content.length);
+        assertThat(stored.checksum())
+                .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+        assertThat(photoStore.exists(photoId)).isTrue();
+        try (InputStream in = photoStore.read(photoId).orElseThrow().getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        // Only the stored file is left in its shard, no temp file.
+        try (var files = Files.list(storageDir.resolve(photoId.toString().substring(0, 2))
+                .resolve(photoId.toString().substring(2, 4)))) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("keeps variants apart from the original and replaces content on rewrite")
+    void shouldKeepVariantsApart() throws IOException {
+        PhotoStore photoStore = new PhotoStore(storageDir.toString());
+        UUID photoId = UUID.randomUUID();
+        photoStore.write(photoId, new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        photoStore.write(photoId, PhotoSize.THUMB, new ByteArrayInputStream(new byte[]{4}));
+        photoStore.write(photoId, PhotoSize.THUMB, new ByteArrayInputStream(new byte[]{5, 6}));
+
+        assertThat(photoStore.read(photoId).orElseThrow().contentLength()).isEqualTo(3);
+        assertThat(photoStore.read(photoId, PhotoSize.THUMB).orElseThrow().getContentAsByteArray())
+                .containsExactly(5, 6);
+        assertThat(photoStore.exists(photoId, PhotoSize.MEDIUM)).isFalse();
+    }
+
+    @Test
+    @DisplayName("reports a photo without a file as missing")
+    void shouldReportMissingFile() throws IOException {
+        PhotoStore photoStore = new PhotoStore(storageDir.toString());
+        UUID photoId = UUID.randomUUID();
+
+        assertThat(photoStore.exists(photoId)).isFalse();
+        assertThat(photoStore.read(photoId)).isEmpty();
+    }
+}
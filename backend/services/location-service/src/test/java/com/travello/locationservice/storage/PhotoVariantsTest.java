@@ -0,0 +1,78 @@
+package com.travello.locationservice.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoVariantsTest {
+
+    @TempDir
+    Path storageDir;
+
+    @Test
+    @DisplayName("writes every variant next to the original without upscaling it")
+    void shouldWriteDownscaledVariants() throws IOException {
+        PhotoStore photoStore = new PhotoStore(storageDir.toString());
+        PhotoVariants photoVariants = new PhotoVariants(photoStore, 0.8f);
+        UUID photoId = UUID.randomUUID();
+        photoStore.write(photoId, new ByteArrayInputStream(png(1000, 500)));
+
+        assertThat(photoVariants.generate(photoId)).isTrue();
+
+        assertThat(dimensions(photoStore, photoId, PhotoSize.THUMB)).isEqualTo(new int[]{200, 100});
+        assertThat(dimensions(photoStore, photoId, PhotoSize.MEDIUM)).isEqualTo(new int[]{400, 200});
+        assertThat(dimensions(photoStore, photoId, PhotoSize.LARGE)).isEqualTo(new int[]{1000, 500});
+    }
+
+    @Test
+    @DisplayName("leaves content ImageIO cannot decode without variants")
+    void shouldSkipUndecodableContent() throws IOException {
+        PhotoStore photoStore = new PhotoStore(storageDir.toString());
+        PhotoVariants photoVariants = new PhotoVariants(photoStore, 0.8f);
+        UUID photoId = UUID.randomUUID();
+        photoStore.write(photoId, new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(photoVariants.generate(photoId)).isFalse();
+        assertThat(photoStore.exists(photoId, PhotoSize.THUMB)).isFalse();
+    }
+
+    @Test
+    @DisplayName("leaves content ImageIO fails on while decoding without variants instead of throwing")
+    void shouldSkipContentImageIOFailsOn() throws IOException {
+        PhotoStore photoStore = new PhotoStore(storageDir.toString());
+        PhotoVariants photoVariants = new PhotoVariants(photoStore, 0.8f);
+        UUID photoId = UUID.randomUUID();
+        // A JFIF header without any image data; the JPEG reader throws an IIOException for it.
+        byte[] jpegWithoutImage = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0,
+                1, 1, 0, 0, 1, 0, 1, 0, 0, (byte) 0xFF, (byte) 0xD9};
+        photoStore.write(photoId, new ByteArrayInputStream(jpegWithoutImage));
+
+        assertThat(photoVariants.generate(photoId)).isFalse();
+        assertThat(photoStore.exists(photoId, PhotoSize.THUMB)).isFalse();
+    }
+
+    private byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private int[] dimensions(PhotoStore photoStore, UUID photoId, PhotoSize size) throws IOException {
+        try (InputStream in = photoStore.read(photoId, size).orElseThrow().getInputStream()) {
+            BufferedImage image = ImageIO.read(in);
+            return new int[]{image.getWidth(), image.getHeight()};
+        }
+    }
+}
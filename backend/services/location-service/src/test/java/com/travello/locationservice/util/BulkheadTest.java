@@ -0,0 +1,50 @@
+package com.travello.locationservice.util;
+
+import com.travello.locationservice.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Bulkhead bulkhead = new Bulkhead("google.test", 1, Duration.ofMillis(50), meterRegistry);
+
+    @Test
+    @DisplayName("rejects a call when every permit is held past the max wait")
+    void shouldReject_whenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> bulkhead.execute(() -> {
+            started.countDown();
+            await(release);
+            return "done";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkhead.execute(() -> "rejected"))
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("google.test");
+        assertThat(meterRegistry.get("bulkhead.rejected").tag("name", "google.test").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(bulkhead.execute(() -> "admitted")).isEqualTo("admitted");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
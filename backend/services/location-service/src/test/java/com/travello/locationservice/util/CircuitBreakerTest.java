@@ -0,0 +1,68 @@
+package com.travello.locationservice.util;
+
+import com.travello.locationservice.exception.CircuitOpenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreaker breaker = new CircuitBreaker("google.test", 2, Duration.ofMillis(100),
+            e -> e instanceof IllegalStateException, meterRegistry);
+
+    @Test
+    @DisplayName("opens after consecutive failures and fails fast without calling the dependency")
+    void shouldOpen_afterConsecutiveFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> breaker.execute(() -> fail(calls))).isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> breaker.execute(() -> fail(calls)))
+                .isInstanceOf(CircuitOpenException.class)
+                .hasMessageContaining("google.test");
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("circuitbreaker.rejected").tag("name", "google.test").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("ignores exceptions that are not failures")
+    void shouldStayClosed_whenExceptionIsIgnored() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> breaker.execute(() -> {
+                throw new IllegalArgumentException("bad request");
+            })).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("closes again when the probe after the open period succeeds")
+    void shouldClose_whenProbeSucceeds() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> breaker.execute(() -> fail(calls))).isInstanceOf(IllegalStateException.class);
+        }
+
+        Thread.sleep(150);
+
+        assertThat(breaker.execute(() -> "ok")).isEqualTo("ok");
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private static String fail(AtomicInteger calls) {
+        calls.incrementAndGet();
+        throw new IllegalStateException("timeout");
+    }
+}
@@ -0,0 +1,89 @@
+package com.travello.locationservice.util;
+
+import com.travello.locationservice.exception.RateLimitedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriorityRateLimiterTest {
+
+    private enum Priority { HIGH, LOW }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("rejects a caller that cannot get a token within its max wait")
+    void shouldReject_whenNoTokenBeforeDeadline() {
+        PriorityRateLimiter<Priority> limiter = new PriorityRateLimiter<>("test", Priority.class, 1, 1, 10, meterRegistry);
+        limiter.acquire(Priority.HIGH, Duration.ZERO);
+
+        assertThatThrownBy(() -> limiter.acquire(Priority.HIGH, Duration.ofMillis(50)))
+                .isInstanceOf(RateLimitedException.class);
+        assertThat(meterRegistry.get("ratelimiter.rejected").tag("reason", "timeout").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("registers its meters up front, so acquiring only records into them")
+    void shouldRegisterMetersOnce() {
+        PriorityRateLimiter<Priority> limiter = new PriorityRateLimiter<>("test", Priority.class, 1, 1, 10, meterRegistry);
+        int meters = meterRegistry.getMeters().size();
+
+        limiter.acquire(Priority.LOW, Duration.ZERO);
+        assertThatThrownBy(() -> limiter.acquire(Priority.HIGH, Duration.ZERO))
+                .isInstanceOf(RateLimitedException.class);
+
+        assertThat(meterRegistry.getMeters()).hasSize(meters);
+        assertThat(meterRegistry.get("ratelimiter.wait").tag("priority", "low").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ratelimiter.rejected").tag("priority", "high").tag("reason", "timeout")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("hands the next token to the most urgent waiter even if it came later")
+    void shouldServeHigherPriorityFirst() throws Exception {
+        PriorityRateLimiter<Priority> limiter = new PriorityRateLimiter<>("test", Priority.class, 5, 1, 10, meterRegistry);
+        limiter.acquire(Priority.HIGH, Duration.ZERO);
+        List<Priority> order = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> low = CompletableFuture.runAsync(() -> {
+            limiter.acquire(Priority.LOW, Duration.ofSeconds(5));
+            order.add(Priority.LOW);
+        });
+        Thread.sleep(50);
+        CompletableFuture<Void> high = CompletableFuture.runAsync(() -> {
+            limiter.acquire(Priority.HIGH, Duration.ofSeconds(5));
+            order.add(Priority.HIGH);
+        });
+
+        CompletableFuture.allOf(low, high).get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly(Priority.HIGH, Priority.LOW);
+    }
+
+    @Test
+    @DisplayName("sheds a less urgent waiter to queue a more urgent one when the queue is full")
+    void shouldShedLowPriority_whenQueueFull() throws Exception {
+        PriorityRateLimiter<Priority> limiter = new PriorityRateLimiter<>("test", Priority.class, 2, 1, 1, meterRegistry);
+        limiter.acquire(Priority.HIGH, Duration.ZERO);
+
+        CompletableFuture<Void> low = CompletableFuture.runAsync(() -> limiter.acquire(Priority.LOW, Duration.ofSeconds(5)));
+        Thread.sleep(50);
+        assertThatThrownBy(() -> limiter.acquire(Priority.LOW, Duration.ofSeconds(5)))
+                .isInstanceOf(RateLimitedException.class);
+
+        limiter.acquire(Priority.HIGH, Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> low.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RateLimitedException.class);
+    }
+}
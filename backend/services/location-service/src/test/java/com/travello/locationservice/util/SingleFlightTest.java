@@ -0,0 +1,71 @@
+package com.travello.locationservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("runs the loader once for concurrent callers and shares its result")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("place", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "resolved";
+                })));
+            }
+            // Release only once every other caller is blocked on the running flight.
+            while (singleFlight.waiters("place") < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("resolved");
+            }
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.isInFlight("place")).isFalse();
+    }
+
+    @Test
+    @DisplayName("propagates the loader failure and allows a new flight afterwards")
+    void shouldPropagateFailure_andForgetKey() {
+        assertThatThrownBy(() -> singleFlight.execute("bad", () -> {
+            throw new NoSuchElementException("Place not found: bad");
+        })).isInstanceOf(NoSuchElementException.class);
+
+        assertThat(singleFlight.isInFlight("bad")).isFalse();
+        assertThat(singleFlight.execute("bad", () -> "retried")).isEqualTo("retried");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.travello.googleplacesstub;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Serves the parts of {@code places.googleapis.com/v1} that location-service uses, with generated
+ * data and configurable latency and errors. Start it and run location-service with
+ * {@code GOOGLE_PLACES_BASE_URL=http://localhost:8090/v1}.
+ */
+@SpringBootApplication
+public class GooglePlacesStubApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(GooglePlacesStubApplication.class, args);
+    }
+}
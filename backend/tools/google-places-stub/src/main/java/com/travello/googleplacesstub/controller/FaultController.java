@@ -0,0 +1,38 @@
+package com.travello.googleplacesstub.controller;
+
+import com.travello.googleplacesstub.fault.FaultInjector;
+import com.travello.googleplacesstub.fault.Faults;
+import com.travello.googleplacesstub.fault.StubOperation;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("stub/faults")
+public class FaultController {
+
+    private final FaultInjector faultInjector;
+
+    public FaultController(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @GetMapping
+    public Map<String, Faults> getFaults() {
+        Map<String, Faults> faults = new LinkedHashMap<>();
+        faultInjector.getAll().forEach((operation, current) -> faults.put(operation.key(), current));
+        return faults;
+    }
+
+    @PutMapping("/{operation}")
+    public Faults updateFaults(@PathVariable String operation, @RequestBody Faults faults) {
+        faultInjector.update(StubOperation.fromKey(operation), faults);
+        return faults;
+    }
+}
@@ -0,0 +1,61 @@
+package com.travello.googleplacesstub.controller;
+
+import com.travello.googleplacesstub.dto.NearbyResultDTO;
+import com.travello.googleplacesstub.dto.SearchNearbyRequestDTO;
+import com.travello.googleplacesstub.dto.StubPlaceDTO;
+import com.travello.googleplacesstub.fault.FaultInjector;
+import com.travello.googleplacesstub.fault.StubOperation;
+import com.travello.googleplacesstub.generator.PhotoRenderer;
+import com.travello.googleplacesstub.generator.PlaceGenerator;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// The Places API (New) endpoints location-service calls, under the same paths.
+@RestController
+@RequestMapping("v1")
+public class PlacesStubController {
+
+    private static final int DEFAULT_MAX_RESULT_COUNT = 20;
+
+    private final PlaceGenerator placeGenerator;
+    private final PhotoRenderer photoRenderer;
+    private final FaultInjector faultInjector;
+
+    public PlacesStubController(PlaceGenerator placeGenerator, PhotoRenderer photoRenderer,
+                                FaultInjector faultInjector) {
+        this.placeGenerator = placeGenerator;
+        this.photoRenderer = photoRenderer;
+        this.faultInjector = faultInjector;
+    }
+
+    @GetMapping("/places/{placeId}")
+    public StubPlaceDTO getPlace(@PathVariable String placeId) {
+        faultInjector.apply(StubOperation.DETAILS);
+        return placeGenerator.details(placeId);
+    }
+
+    @GetMapping(value = "/places/{placeId}/photos/{photoReference}/media", produces = MediaType.IMAGE_JPEG_VALUE)
+    public byte[] getPhotoMedia(@PathVariable String placeId,
+                                @PathVariable String photoReference,
+                                @RequestParam(defaultValue = "4800") int maxWidthPx) {
+        faultInjector.apply(StubOperation.PHOTOS);
+        return photoRenderer.render(photoReference, maxWidthPx);
+    }
+
+    @PostMapping("/places:searchNearby")
+    public NearbyResultDTO searchNearby(@RequestBody SearchNearbyRequestDTO request) {
+        faultInjector.apply(StubOperation.NEARBY);
+        SearchNearbyRequestDTO.Circle circle = request.locationRestriction().circle();
+        String type = request.includedTypes() != null && !request.includedTypes().isEmpty()
+                ? request.includedTypes().getFirst()
+                : "point_of_interest";
+        int maxResultCount = request.maxResultCount() != null ? request.maxResultCount() : DEFAULT_MAX_RESULT_COUNT;
+        return new NearbyResultDTO(placeGenerator.nearby(circle.center(), circle.radius(), type, maxResultCount));
+    }
+}
@@ -0,0 +1,4 @@
+package com.travello.googleplacesstub.dto;
+
+public record LatLng(double latitude, double longitude) {
+}
@@ -0,0 +1,5 @@
+package com.travello.googleplacesstub.dto;
+
+// Place as returned by places:searchNearby with location-service's field mask.
+public record NearbyPlaceDTO(String id, StubPlaceDTO.DisplayName displayName, double rating, String priceLevel) {
+}
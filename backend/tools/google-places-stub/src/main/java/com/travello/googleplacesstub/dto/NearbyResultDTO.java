@@ -0,0 +1,6 @@
+package com.travello.googleplacesstub.dto;
+
+import java.util.List;
+
+public record NearbyResultDTO(List<NearbyPlaceDTO> places) {
+}
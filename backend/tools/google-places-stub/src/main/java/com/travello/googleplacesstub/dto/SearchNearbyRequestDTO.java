@@ -0,0 +1,12 @@
+package com.travello.googleplacesstub.dto;
+
+import java.util.List;
+
+public record SearchNearbyRequestDTO(List<String> includedTypes,
+                                     Integer maxResultCount,
+                                     LocationRestriction locationRestriction) {
+
+    public record LocationRestriction(Circle circle) {}
+
+    public record Circle(LatLng center, double radius) {}
+}
@@ -0,0 +1,21 @@
+package com.travello.googleplacesstub.dto;
+
+import java.util.List;
+
+// Place resource as returned by places.get with location-service's field mask.
+public record StubPlaceDTO(String id,
+                           String name,
+                           DisplayName displayName,
+                           double rating,
+                           String priceLevel,
+                           List<Photo> photos,
+                           List<String> types,
+                           CurrentOpeningHours currentOpeningHours,
+                           LatLng location) {
+
+    public record DisplayName(String text, String languageCode) {}
+
+    public record Photo(String name, int widthPx, int heightPx) {}
+
+    public record CurrentOpeningHours(List<String> weekdayDescriptions) {}
+}
@@ -0,0 +1,30 @@
+package com.travello.googleplacesstub.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ControllerAdvice
+public class GlobalExceptionHandler {
+
+    // Same error envelope as the real API.
+    @ExceptionHandler(StubFaultException.class)
+    public ResponseEntity<Map<String, Object>> handleStubFaultException(StubFaultException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("code", ex.getStatus().value());
+        error.put("message", ex.getMessage());
+        error.put("status", ex.getStatus() == HttpStatus.TOO_MANY_REQUESTS ? "RESOURCE_EXHAUSTED" : "UNAVAILABLE");
+        return ResponseEntity.status(ex.getStatus()).body(Map.of("error", error));
+    }
+
+    @ExceptionHandler(UnknownOperationException.class)
+    public ResponseEntity<Map<String, String>> handleUnknownOperationException(UnknownOperationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(errors);
+    }
+}
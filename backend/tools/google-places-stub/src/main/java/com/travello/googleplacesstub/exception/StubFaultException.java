@@ -0,0 +1,17 @@
+package com.travello.googleplacesstub.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class StubFaultException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public StubFaultException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,8 @@
+package com.travello.googleplacesstub.exception;
+
+public class UnknownOperationException extends RuntimeException {
+
+    public UnknownOperationException(String operation) {
+        super("Unknown operation: " + operation + ", expected details, photos or nearby");
+    }
+}
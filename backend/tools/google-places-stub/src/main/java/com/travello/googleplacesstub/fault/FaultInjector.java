@@ -0,0 +1,66 @@
+package com.travello.googleplacesstub.fault;
+
+import com.travello.googleplacesstub.exception.StubFaultException;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Applies the configured {@link Faults} to a request. Starts from the {@code stub.<operation>.*}
+ * properties; {@link #update} replaces them while the stub is running, so a load test can turn
+ * an outage on and off.
+ */
+@Component
+public class FaultInjector {
+
+    private final Map<StubOperation, Faults> faults = new EnumMap<>(StubOperation.class);
+
+    public FaultInjector(Environment environment) {
+        for (StubOperation operation : StubOperation.values()) {
+            String prefix = "stub." + operation.key();
+            faults.put(operation, new Faults(
+                    environment.getRequiredProperty(prefix + ".latency.ms", Long.class),
+                    environment.getRequiredProperty(prefix + ".latency.jitter.ms", Long.class),
+                    environment.getRequiredProperty(prefix + ".error.rate", Double.class),
+                    environment.getRequiredProperty(prefix + ".ratelimit.rate", Double.class)));
+        }
+    }
+
+    public synchronized Faults get(StubOperation operation) {
+        return faults.get(operation);
+    }
+
+    public synchronized Map<StubOperation, Faults> getAll() {
+        return new EnumMap<>(faults);
+    }
+
+    public synchronized void update(StubOperation operation, Faults updated) {
+        faults.put(operation, updated);
+    }
+
+    public void apply(StubOperation operation) {
+        Faults current = get(operation);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = current.latencyMs()
+                + (current.latencyJitterMs() > 0 ? random.nextLong(current.latencyJitterMs() + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        double roll = random.nextDouble();
+        if (roll < current.errorRate()) {
+            throw new StubFaultException(HttpStatus.SERVICE_UNAVAILABLE, "The service is currently unavailable.");
+        }
+        if (roll < current.errorRate() + current.rateLimitRate()) {
+            throw new StubFaultException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Quota exceeded for quota metric 'Requests' of service 'places.googleapis.com'.");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.travello.googleplacesstub.fault;
+
+/**
+ * Behaviour of one stubbed operation: every response is delayed by {@code latencyMs} plus up to
+ * {@code latencyJitterMs}, then fails with 503 or 429 at the given rates.
+ */
+public record Faults(long latencyMs, long latencyJitterMs, double errorRate, double rateLimitRate) {
+}
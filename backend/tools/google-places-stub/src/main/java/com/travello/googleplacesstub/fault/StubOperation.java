@@ -0,0 +1,28 @@
+package com.travello.googleplacesstub.fault;
+
+import com.travello.googleplacesstub.exception.UnknownOperationException;
+
+public enum StubOperation {
+    DETAILS("details"),
+    PHOTOS("photos"),
+    NEARBY("nearby");
+
+    private final String key;
+
+    StubOperation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static StubOperation fromKey(String key) {
+        for (StubOperation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new UnknownOperationException(key);
+    }
+}
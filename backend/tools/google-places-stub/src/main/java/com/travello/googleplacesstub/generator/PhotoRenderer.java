@@ -0,0 +1,75 @@
+package com.travello.googleplacesstub.generator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders 4:3 JPEGs with enough texture to compress like real photos. There are a handful of
+ * variants per width, picked by photo reference, and each is rendered once and kept.
+ */
+@Component
+public class PhotoRenderer {
+
+    private static final int VARIANTS = 8;
+
+    private final int maxWidthPx;
+    private final Map<Long, byte[]> rendered = new ConcurrentHashMap<>();
+
+    public PhotoRenderer(@Value("${stub.photos.max.width.px}") int maxWidthPx) {
+        this.maxWidthPx = maxWidthPx;
+    }
+
+    public byte[] render(String photoReference, int requestedWidthPx) {
+        int width = Math.clamp(requestedWidthPx, 1, maxWidthPx);
+        int variant = Math.floorMod(photoReference.hashCode(), VARIANTS);
+        return rendered.computeIfAbsent(((long) width << 8) | variant, key -> draw(width, variant));
+    }
+
+    private static byte[] draw(int width, int variant) {
+        int height = Math.max(1, width * 3 / 4);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(variant);
+        Color top = new Color(random.nextInt(0xFFFFFF));
+        Color bottom = new Color(random.nextInt(0xFFFFFF));
+        for (int y = 0; y < height; y++) {
+            double t = (double) y / height;
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(24) - 12;
+                image.setRGB(x, y, new Color(
+                        channel(top.getRed(), bottom.getRed(), t, noise),
+                        channel(top.getGreen(), bottom.getGreen(), t, noise),
+                        channel(top.getBlue(), bottom.getBlue(), t, noise)).getRGB());
+            }
+        }
+        Graphics2D graphics = image.createGraphics();
+        for (int i = 0; i < 12; i++) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.fillRect(random.nextInt(width), random.nextInt(height), 1 + random.nextInt(width / 4 + 1),
+                    1 + random.nextInt(height / 4 + 1));
+        }
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "jpg", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static int channel(int from, int to, double t, int noise) {
+        return Math.clamp(Math.round(from + (to - from) * t) + noise, 0, 255);
+    }
+}
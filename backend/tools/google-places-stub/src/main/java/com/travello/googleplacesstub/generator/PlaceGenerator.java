@@ -0,0 +1,127 @@
+package com.travello.googleplacesstub.generator;
+
+import com.travello.googleplacesstub.dto.LatLng;
+import com.travello.googleplacesstub.dto.NearbyPlaceDTO;
+import com.travello.googleplacesstub.dto.StubPlaceDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates places deterministically from their id, so repeated lookups of the same place agree
+ * with each other and with the search that returned it. Ids handed out by {@link #nearby} carry
+ * the place's coordinates and type; any other id becomes a place somewhere around
+ * {@link #DEFAULT_CENTER}.
+ */
+@Component
+public class PlaceGenerator {
+
+    static final LatLng DEFAULT_CENTER = new LatLng(47.4979, 19.0402);
+    private static final double DEFAULT_SPREAD_METERS = 10_000;
+    private static final double METERS_PER_DEGREE = 111_320;
+    private static final Pattern STUB_ID = Pattern.compile("stub\\.(-?\\d+)\\.(-?\\d+)\\.([a-z_]+)");
+    private static final String[] ADJECTIVES = {
+            "Old", "Golden", "Royal", "Hidden", "Grand", "Little", "Blue", "Green", "Silver", "Riverside"
+    };
+    private static final String[] NOUNS = {
+            "Garden", "Bastion", "Market", "Corner", "Hall", "Terrace", "Gallery", "House", "Square", "Bridge"
+    };
+    private static final String[] PRICE_LEVELS = {
+            "PRICE_LEVEL_FREE", "PRICE_LEVEL_INEXPENSIVE", "PRICE_LEVEL_MODERATE",
+            "PRICE_LEVEL_EXPENSIVE", "PRICE_LEVEL_VERY_EXPENSIVE"
+    };
+    private static final String[] DAYS = {
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+
+    private final int maxResults;
+    private final int photosPerPlace;
+
+    public PlaceGenerator(@Value("${stub.nearby.max.results}") int maxResults,
+                          @Value("${stub.photos.per.place}") int photosPerPlace) {
+        this.maxResults = maxResults;
+        this.photosPerPlace = photosPerPlace;
+    }
+
+    public StubPlaceDTO details(String placeId) {
+        Random random = new Random(placeId.hashCode());
+        LatLng location;
+        String type;
+        Matcher matcher = STUB_ID.matcher(placeId);
+        if (matcher.matches()) {
+            location = new LatLng(Long.parseLong(matcher.group(1)) / 1e6, Long.parseLong(matcher.group(2)) / 1e6);
+            type = matcher.group(3);
+        } else {
+            location = randomPoint(random, DEFAULT_CENTER, DEFAULT_SPREAD_METERS);
+            type = "tourist_attraction";
+        }
+
+        List<StubPlaceDTO.Photo> photos = new ArrayList<>();
+        int photoCount = 1 + random.nextInt(photosPerPlace);
+        for (int i = 0; i < photoCount; i++) {
+            String reference = "AUc" + Long.toHexString(random.nextLong() & Long.MAX_VALUE);
+            photos.add(new StubPlaceDTO.Photo("places/" + placeId + "/photos/" + reference, 4032, 3024));
+        }
+        List<String> weekdays = new ArrayList<>();
+        int opens = 7 + random.nextInt(4);
+        int closes = 5 + random.nextInt(7);
+        for (String day : DAYS) {
+            weekdays.add(day + ": " + opens + ":00 AM – " + closes + ":00 PM");
+        }
+
+        return new StubPlaceDTO(
+                placeId,
+                "places/" + placeId,
+                new StubPlaceDTO.DisplayName(name(placeId), "en"),
+                rating(placeId),
+                priceLevel(placeId),
+                photos,
+                List.of(type, "point_of_interest", "establishment"),
+                new StubPlaceDTO.CurrentOpeningHours(weekdays),
+                location);
+    }
+
+    public List<NearbyPlaceDTO> nearby(LatLng center, double radiusMeters, String type, int maxResultCount) {
+        Random random = new Random(31L * center.hashCode() + type.hashCode());
+        int count = Math.min(maxResultCount, maxResults);
+        List<NearbyPlaceDTO> places = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LatLng point = randomPoint(random, center, radiusMeters);
+            String id = String.format(Locale.ROOT, "stub.%d.%d.%s",
+                    Math.round(point.latitude() * 1e6), Math.round(point.longitude() * 1e6), type);
+            places.add(new NearbyPlaceDTO(id, new StubPlaceDTO.DisplayName(name(id), "en"),
+                    rating(id), priceLevel(id)));
+        }
+        return places;
+    }
+
+    private static String name(String placeId) {
+        Random random = new Random(placeId.hashCode() ^ 0x5DEECE66DL);
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)];
+    }
+
+    private static double rating(String placeId) {
+        Random random = new Random(placeId.hashCode() ^ 0x2545F491L);
+        return Math.round((1 + random.nextDouble() * 4) * 10) / 10.0;
+    }
+
+    private static String priceLevel(String placeId) {
+        Random random = new Random(placeId.hashCode() ^ 0x9E3779B9L);
+        return PRICE_LEVELS[random.nextInt(PRICE_LEVELS.length)];
+    }
+
+    // Uniform over the disc: the square root keeps points from clustering at the centre.
+    private static LatLng randomPoint(Random random, LatLng center, double radiusMeters) {
+        double distance = radiusMeters * Math.sqrt(random.nextDouble());
+        double bearing = random.nextDouble() * 2 * Math.PI;
+        double dLat = distance * Math.cos(bearing) / METERS_PER_DEGREE;
+        double dLng = distance * Math.sin(bearing) / (METERS_PER_DEGREE * Math.cos(Math.toRadians(center.latitude())));
+        return new LatLng(center.latitude() + dLat, center.longitude() + dLng);
+    }
+}
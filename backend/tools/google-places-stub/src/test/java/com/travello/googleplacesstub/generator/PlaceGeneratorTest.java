@@ -0,0 +1,51 @@
+package com.travello.googleplacesstub.generator;
+
+import com.travello.googleplacesstub.dto.LatLng;
+import com.travello.googleplacesstub.dto.NearbyPlaceDTO;
+import com.travello.googleplacesstub.dto.StubPlaceDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceGeneratorTest {
+
+    private final PlaceGenerator generator = new PlaceGenerator(20, 4);
+
+    @Test
+    @DisplayName("returns the same places inside the radius for the same search")
+    void shouldReturnStablePlaces_withinRadius() {
+        LatLng center = new LatLng(47.5, 19.05);
+
+        List<NearbyPlaceDTO> places = generator.nearby(center, 1000, "museum", 10);
+
+        assertThat(places).hasSize(10).isEqualTo(generator.nearby(center, 1000, "museum", 10));
+        for (NearbyPlaceDTO place : places) {
+            LatLng location = generator.details(place.id()).location();
+            assertThat(distanceMeters(center, location)).isLessThanOrEqualTo(1001);
+        }
+    }
+
+    @Test
+    @DisplayName("describes a searched place the same way in its details")
+    void shouldMatchSearchResult_inDetails() {
+        NearbyPlaceDTO found = generator.nearby(new LatLng(47.5, 19.05), 1000, "museum", 1).getFirst();
+
+        StubPlaceDTO details = generator.details(found.id());
+
+        assertThat(details.displayName()).isEqualTo(found.displayName());
+        assertThat(details.rating()).isEqualTo(found.rating());
+        assertThat(details.priceLevel()).isEqualTo(found.priceLevel());
+        assertThat(details.types()).contains("museum");
+        assertThat(details.photos()).isNotEmpty()
+                .allSatisfy(photo -> assertThat(photo.name()).startsWith("places/" + found.id() + "/photos/"));
+    }
+
+    private static double distanceMeters(LatLng a, LatLng b) {
+        double dLat = (b.latitude() - a.latitude()) * 111_320;
+        double dLng = (b.longitude() - a.longitude()) * 111_320 * Math.cos(Math.toRadians(a.latitude()));
+        return Math.hypot(dLat, dLng);
+    }
+}
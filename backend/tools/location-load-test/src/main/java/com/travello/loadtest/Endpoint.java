@@ -0,0 +1,26 @@
+package com.travello.loadtest;
+
+public enum Endpoint {
+    PLACE("place"),
+    PHOTO("photo"),
+    RECOMMENDATIONS("recommendations");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + key + ", expected place, photo or recommendations");
+    }
+}
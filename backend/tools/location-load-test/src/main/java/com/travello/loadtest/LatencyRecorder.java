@@ -0,0 +1,73 @@
+package com.travello.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collects the latency and outcome of every request to one endpoint. All samples are kept, which
+ * is a few MB for a long run, so percentiles are exact rather than bucketed.
+ */
+public class LatencyRecorder {
+
+    private final String name;
+    private final Map<Outcome, Long> outcomes = new EnumMap<>(Outcome.class);
+    private long[] latencies = new long[1024];
+    private int count;
+    private long stale;
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(long latencyNanos, Outcome outcome, boolean staleResponse) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        outcomes.merge(outcome, 1L, Long::sum);
+        if (staleResponse) {
+            stale++;
+        }
+    }
+
+    // Used for the total row; the other recorder must no longer be written to.
+    public synchronized void addAll(LatencyRecorder other) {
+        synchronized (other) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length, count + other.count));
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            other.outcomes.forEach((outcome, n) -> outcomes.merge(outcome, n, Long::sum));
+            stale += other.stale;
+        }
+    }
+
+    public synchronized LatencyResult result(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new LatencyResult(
+                name,
+                count,
+                outcomes.getOrDefault(Outcome.OK, 0L),
+                outcomes.getOrDefault(Outcome.CLIENT_ERROR, 0L),
+                outcomes.getOrDefault(Outcome.SERVER_ERROR, 0L),
+                outcomes.getOrDefault(Outcome.FAILED, 0L),
+                stale,
+                count / seconds,
+                percentileMillis(sorted, 50),
+                percentileMillis(sorted, 90),
+                percentileMillis(sorted, 99),
+                percentileMillis(sorted, 99.9),
+                count > 0 ? sorted[count - 1] / 1e6 : 0);
+    }
+
+    // Nearest rank: the smallest sample that at least p percent of the samples do not exceed.
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        // The epsilon keeps floating point error from pushing an exact rank up by one.
+        int rank = (int) Math.ceil(percentile * sorted.length / 100 - 1e-9);
+        return sorted[Math.clamp(rank - 1, 0, sorted.length - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,21 @@
+package com.travello.loadtest;
+
+/**
+ * Summary of one endpoint, or of all of them, over the recorded part of a run. Latencies are
+ * in milliseconds and measured from when the request was due, not when it was sent, so time
+ * spent waiting behind slow responses is included.
+ */
+public record LatencyResult(String name,
+                            long requests,
+                            long ok,
+                            long clientErrors,
+                            long serverErrors,
+                            long failed,
+                            long stale,
+                            double throughput,
+                            double p50,
+                            double p90,
+                            double p99,
+                            double p999,
+                            double max) {
+}
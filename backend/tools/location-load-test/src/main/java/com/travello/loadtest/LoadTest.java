@@ -0,0 +1,231 @@
+package com.travello.loadtest;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@code /location/{id}}, {@code /location/photos/{id}} and {@code /location/recommendations/}
+ * at a fixed arrival rate and reports throughput and latency percentiles per endpoint.
+ *
+ * <p>Requests are started on schedule whether or not earlier ones have returned (an open model),
+ * so a slow service shows up as latency instead of as a quietly lowered request rate. Place ids
+ * come from recommendation searches around {@code --lat}/{@code --lng} and photo ids from place
+ * responses, which against the stub in {@code backend/tools/google-places-stub} gives a warm-up
+ * of cold lookups followed by mostly cached ones.
+ *
+ * <p>To compare builds, run each with {@code --out=<file>} and pass the earlier file as
+ * {@code --baseline}. See {@link LoadTestOptions#USAGE} for all options.
+ */
+public class LoadTest {
+
+    private static final double METERS_PER_DEGREE = 111_320;
+    private static final int MAX_SEED_PLACES = 50;
+
+    private final LoadTestOptions options;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final Targets targets = new Targets();
+    private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+    private final List<Endpoint> weightedEndpoints = new ArrayList<>();
+
+    public LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        options.mix().forEach((endpoint, weight) -> {
+            recorders.put(endpoint, new LatencyRecorder(endpoint.key()));
+            for (int i = 0; i < weight; i++) {
+                weightedEndpoints.add(endpoint);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        LoadTest loadTest = new LoadTest(options);
+        loadTest.seed();
+        RunResult result = loadTest.run();
+
+        Report.print(result, System.out);
+        ObjectMapper objectMapper = loadTest.objectMapper;
+        if (options.baseline() != null) {
+            Report.compare(objectMapper.readValue(options.baseline().toFile(), RunResult.class), result, System.out);
+        }
+        if (options.out() != null) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(options.out().toFile(), result);
+        }
+    }
+
+    void seed() {
+        for (int i = 0; i < options.seedSearches(); i++) {
+            searchRecommendations();
+        }
+        List<String> placeIds = new ArrayList<>();
+        for (int i = 0; i < Math.min(MAX_SEED_PLACES, targets.placeCount()); i++) {
+            targets.randomPlaceId().ifPresent(placeIds::add);
+        }
+        placeIds.forEach(this::getPlace);
+        System.out.printf(Locale.ROOT, "Seeded %d place ids and %d photo ids%n",
+                targets.placeCount(), targets.photoCount());
+        boolean needsPlaces = options.mix().containsKey(Endpoint.PLACE) || options.mix().containsKey(Endpoint.PHOTO);
+        if (targets.placeCount() == 0 && needsPlaces) {
+            throw new IllegalStateException("No place ids found around " + options.latitude() + ","
+                    + options.longitude() + "; check --base-url, --token and --types");
+        }
+    }
+
+    RunResult run() {
+        long intervalNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / options.rps());
+        long start = System.nanoTime();
+        long recordFrom = start + options.warmup().toNanos();
+        long end = recordFrom + options.duration().toNanos();
+        long maxLagNanos = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + i * intervalNanos;
+                if (due >= end) {
+                    break;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else {
+                    maxLagNanos = Math.max(maxLagNanos, -wait);
+                }
+                Endpoint endpoint = weightedEndpoints.get(ThreadLocalRandom.current().nextInt(weightedEndpoints.size()));
+                boolean recorded = due >= recordFrom;
+                executor.execute(() -> send(endpoint, due, recorded));
+            }
+        }
+        if (maxLagNanos > TimeUnit.MILLISECONDS.toNanos(10)) {
+            System.out.printf(Locale.ROOT, "Warning: requests were sent up to %d ms late, the load generator "
+                    + "could not keep up with the target rate%n", TimeUnit.NANOSECONDS.toMillis(maxLagNanos));
+        }
+
+        double seconds = options.duration().toNanos() / 1e9;
+        List<LatencyResult> results = new ArrayList<>();
+        LatencyRecorder total = new LatencyRecorder("all");
+        recorders.values().forEach(recorder -> {
+            results.add(recorder.result(seconds));
+            total.addAll(recorder);
+        });
+        results.add(total.result(seconds));
+        return new RunResult(options.label(), options.rps(), options.duration().toSeconds(), results);
+    }
+
+    private void send(Endpoint endpoint, long due, boolean recorded) {
+        HttpResponse<?> response = switch (endpoint) {
+            case PLACE -> getPlace(targets.randomPlaceId().orElseThrow());
+            // Until a place with photos has been loaded there is no photo id to ask for.
+            case PHOTO -> {
+                Optional<String> photoId = targets.randomPhotoId();
+                yield photoId.isPresent() ? getPhoto(photoId.get()) : getPlace(targets.randomPlaceId().orElseThrow());
+            }
+            case RECOMMENDATIONS -> searchRecommendations();
+        };
+        if (!recorded) {
+            return;
+        }
+        long latency = System.nanoTime() - due;
+        if (response == null) {
+            recorders.get(endpoint).record(latency, Outcome.FAILED, false);
+        } else {
+            recorders.get(endpoint).record(latency, Outcome.ofStatus(response.statusCode()),
+                    response.headers().firstValue("X-Stale").isPresent());
+        }
+    }
+
+    private HttpResponse<String> getPlace(String placeId) {
+        HttpResponse<String> response = get("/location/" + encode(placeId), HttpResponse.BodyHandlers.ofString());
+        if (response != null && response.statusCode() == 200) {
+            readTree(response.body()).path("photos").forEach(photo -> targets.addPhotoId(photo.asString()));
+        }
+        return response;
+    }
+
+    private HttpResponse<Void> getPhoto(String photoId) {
+        return get("/location/photos/" + encode(photoId) + "?size=" + encode(options.photoSize()),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpResponse<String> searchRecommendations() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double distance = options.spreadMeters() * Math.sqrt(random.nextDouble());
+        double bearing = random.nextDouble() * 2 * Math.PI;
+        double latitude = options.latitude() + distance * Math.cos(bearing) / METERS_PER_DEGREE;
+        double longitude = options.longitude() + distance * Math.sin(bearing)
+                / (METERS_PER_DEGREE * Math.cos(Math.toRadians(options.latitude())));
+        String type = options.types().get(random.nextInt(options.types().size()));
+
+        HttpResponse<String> response = get(String.format(Locale.ROOT,
+                "/location/recommendations/?latitude=%.6f&longitude=%.6f&type=%s", latitude, longitude, encode(type)),
+                HttpResponse.BodyHandlers.ofString());
+        if (response != null && response.statusCode() == 200) {
+            readTree(response.body()).forEach(place -> targets.addPlaceId(place.path("id").asString()));
+        }
+        return response;
+    }
+
+    private <T> HttpResponse<T> get(String path, HttpResponse.BodyHandler<T> bodyHandler) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(options.baseUrl() + path))
+                .timeout(options.timeout())
+                .GET();
+        if (options.token() != null) {
+            request.header("Authorization", "Bearer " + options.token());
+        }
+        try {
+            return httpClient.send(request.build(), bodyHandler);
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JacksonException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.travello.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, all given as {@code --name=value}.
+ *
+ * @param mix relative weights of the endpoints, e.g. {@code place=6,photo=3,recommendations=1}
+ */
+public record LoadTestOptions(String baseUrl,
+                              String token,
+                              double rps,
+                              Duration warmup,
+                              Duration duration,
+                              Duration timeout,
+                              Map<Endpoint, Integer> mix,
+                              double latitude,
+                              double longitude,
+                              double spreadMeters,
+                              List<String> types,
+                              String photoSize,
+                              int seedSearches,
+                              String label,
+                              Path out,
+                              Path baseline) {
+
+    static final String USAGE = """
+            Usage: java -jar location-load-test.jar [--name=value ...]
+              --base-url       location-service, or the gateway with --token (default http://localhost:8082)
+              --token          bearer token sent with every request
+              --rps            target requests per second, sent on schedule however slow responses get (default 50)
+              --warmup         seconds at target rate before recording starts (default 10)
+              --duration       recorded seconds (default 60)
+              --timeout        per request timeout in seconds (default 10)
+              --mix            endpoint weights (default place=6,photo=3,recommendations=1)
+              --lat, --lng     centre of the area requests are spread over (default central Budapest)
+              --spread         radius of that area in metres (default 3000)
+              --types          place types for recommendations (default tourist_attraction,restaurant,museum)
+              --photo-size     thumb, medium, large or original (default medium)
+              --seed-searches  recommendation searches made up front to collect place ids (default 20)
+              --label          name of this run in the report, e.g. a commit id
+              --out            write the results as JSON to this file
+              --baseline       JSON results of an earlier run to compare against
+            """;
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                values.getOrDefault("base-url", "http://localhost:8082").replaceAll("/+$", ""),
+                values.get("token"),
+                Double.parseDouble(values.getOrDefault("rps", "50")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("timeout", "10"))),
+                parseMix(values.getOrDefault("mix", "place=6,photo=3,recommendations=1")),
+                Double.parseDouble(values.getOrDefault("lat", "47.4979")),
+                Double.parseDouble(values.getOrDefault("lng", "19.0402")),
+                Double.parseDouble(values.getOrDefault("spread", "3000")),
+                List.of(values.getOrDefault("types", "tourist_attraction,restaurant,museum").split(",")),
+                values.getOrDefault("photo-size", "medium"),
+                Integer.parseInt(values.getOrDefault("seed-searches", "20")),
+                values.getOrDefault("label", "run"),
+                values.containsKey("out") ? Path.of(values.get("out")) : null,
+                values.containsKey("baseline") ? Path.of(values.get("baseline")) : null);
+        if (options.rps <= 0) {
+            throw new IllegalArgumentException("--rps must be positive");
+        }
+        return options;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : mix.split(",")) {
+            String[] keyValue = part.split("=");
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight in --mix, got " + part);
+            }
+            int weight = Integer.parseInt(keyValue[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.fromKey(keyValue[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one endpoint with a positive weight");
+        }
+        return weights;
+    }
+}
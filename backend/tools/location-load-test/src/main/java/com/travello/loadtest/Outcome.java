@@ -0,0 +1,16 @@
+package com.travello.loadtest;
+
+public enum Outcome {
+    OK,
+    CLIENT_ERROR,
+    SERVER_ERROR,
+    // No response: timeout or connection error.
+    FAILED;
+
+    public static Outcome ofStatus(int status) {
+        if (status < 400) {
+            return OK;
+        }
+        return status < 500 ? CLIENT_ERROR : SERVER_ERROR;
+    }
+}
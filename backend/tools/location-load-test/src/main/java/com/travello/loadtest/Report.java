@@ -0,0 +1,59 @@
+package com.travello.loadtest;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class Report {
+
+    private Report() {
+    }
+
+    static void print(RunResult run, PrintStream out) {
+        out.printf(Locale.ROOT, "%n%s: %.0f rps target, %d s recorded%n", run.label(), run.targetRps(),
+                run.durationSeconds());
+        out.printf(Locale.ROOT, "%-16s %9s %9s %6s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "4xx", "5xx", "failed", "stale",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LatencyResult result : run.results()) {
+            out.printf(Locale.ROOT, "%-16s %9d %9.1f %6d %6d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    result.name(), result.requests(), result.throughput(), result.clientErrors(),
+                    result.serverErrors(), result.failed(), result.stale(),
+                    result.p50(), result.p90(), result.p99(), result.p999(), result.max());
+        }
+    }
+
+    // Changes relative to the baseline; for errors and latencies negative is better.
+    static void compare(RunResult baseline, RunResult run, PrintStream out) {
+        Map<String, LatencyResult> before = baseline.results().stream()
+                .collect(Collectors.toMap(LatencyResult::name, Function.identity()));
+        out.printf(Locale.ROOT, "%nCompared with %s:%n", baseline.label());
+        out.printf(Locale.ROOT, "%-16s %9s %9s %9s %9s %9s%n", "endpoint", "req/s", "errors", "p50", "p99", "p99.9");
+        for (LatencyResult result : run.results()) {
+            LatencyResult previous = before.get(result.name());
+            if (previous == null) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-16s %9s %9s %9s %9s %9s%n",
+                    result.name(),
+                    change(previous.throughput(), result.throughput()),
+                    change(errorRate(previous), errorRate(result)),
+                    change(previous.p50(), result.p50()),
+                    change(previous.p99(), result.p99()),
+                    change(previous.p999(), result.p999()));
+        }
+    }
+
+    private static double errorRate(LatencyResult result) {
+        return result.requests() == 0 ? 0 : (double) (result.requests() - result.ok()) / result.requests();
+    }
+
+    private static String change(double before, double after) {
+        if (before == 0) {
+            return after == 0 ? "0%" : "new";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (after - before) / before * 100);
+    }
+}
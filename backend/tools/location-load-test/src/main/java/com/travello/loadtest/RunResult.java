@@ -0,0 +1,6 @@
+package com.travello.loadtest;
+
+import java.util.List;
+
+public record RunResult(String label, double targetRps, long durationSeconds, List<LatencyResult> results) {
+}
@@ -0,0 +1,66 @@
+package com.travello.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Place and photo ids seen in responses so far. Requests pick from these, so the mix of cached
+ * and uncached ids follows from how the pools grow rather than from a fixed list.
+ */
+public class Targets {
+
+    private static final int MAX_IDS = 10_000;
+
+    private final Pool placeIds = new Pool();
+    private final Pool photoIds = new Pool();
+
+    public void addPlaceId(String placeId) {
+        placeIds.add(placeId);
+    }
+
+    public void addPhotoId(String photoId) {
+        photoIds.add(photoId);
+    }
+
+    public Optional<String> randomPlaceId() {
+        return placeIds.random();
+    }
+
+    public Optional<String> randomPhotoId() {
+        return photoIds.random();
+    }
+
+    public int placeCount() {
+        return placeIds.size();
+    }
+
+    public int photoCount() {
+        return photoIds.size();
+    }
+
+    private static class Pool {
+
+        private final List<String> ids = new ArrayList<>();
+        private final Set<String> seen = new HashSet<>();
+
+        synchronized void add(String id) {
+            if (ids.size() < MAX_IDS && seen.add(id)) {
+                ids.add(id);
+            }
+        }
+
+        synchronized Optional<String> random() {
+            return ids.isEmpty()
+                    ? Optional.empty()
+                    : Optional.of(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+        }
+
+        synchronized int size() {
+            return ids.size();
+        }
+    }
+}
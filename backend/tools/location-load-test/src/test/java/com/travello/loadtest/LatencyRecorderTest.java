@@ -0,0 +1,48 @@
+package com.travello.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyRecorderTest {
+
+    @Test
+    @DisplayName("reports nearest-rank percentiles and outcome counts")
+    void shouldSummarizeSamples() {
+        LatencyRecorder recorder = new LatencyRecorder("place");
+        for (int millis = 1000; millis >= 1; millis--) {
+            recorder.record(millis * 1_000_000L, millis > 990 ? Outcome.SERVER_ERROR : Outcome.OK, false);
+        }
+
+        LatencyResult result = recorder.result(10);
+
+        assertThat(result.requests()).isEqualTo(1000);
+        assertThat(result.ok()).isEqualTo(990);
+        assertThat(result.serverErrors()).isEqualTo(10);
+        assertThat(result.throughput()).isEqualTo(100.0);
+        assertThat(result.p50()).isEqualTo(500.0);
+        assertThat(result.p99()).isEqualTo(990.0);
+        assertThat(result.p999()).isEqualTo(999.0);
+        assertThat(result.max()).isEqualTo(1000.0);
+    }
+
+    @Test
+    @DisplayName("merges other recorders into a total")
+    void shouldMergeRecorders() {
+        LatencyRecorder place = new LatencyRecorder("place");
+        LatencyRecorder photo = new LatencyRecorder("photo");
+        place.record(1_000_000L, Outcome.OK, false);
+        photo.record(3_000_000L, Outcome.FAILED, true);
+
+        LatencyRecorder total = new LatencyRecorder("all");
+        total.addAll(place);
+        total.addAll(photo);
+        LatencyResult result = total.result(1);
+
+        assertThat(result.requests()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.stale()).isEqualTo(1);
+        assertThat(result.max()).isEqualTo(3.0);
+    }
+}
@@ -25,7 +25,7 @@ function PhotosSlideShow({photos}) {
                     }`}
                 >
                     <img
-                        src={`/api/location/photos/${photo}`}
+                        src={`/api/location/photos/${photo}?size=large`}
                         alt="Photo"
                         className="mx-auto h-full w-auto object-contain"
                     />
@@ -18,6 +18,7 @@ function Recommendation({location, onAddPlace, placeType}) {
                     params: {
                         location: `${location.lat},${location.lng}`,
                         type: placeType,
+                        prefetch: true,
                     },
                     signal: abortController.signal,
                 });